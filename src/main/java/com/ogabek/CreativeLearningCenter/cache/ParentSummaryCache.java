@@ -0,0 +1,176 @@
+package com.ogabek.CreativeLearningCenter.cache;
+
+import com.ogabek.CreativeLearningCenter.dto.response.CacheStatsResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.ParentSummaryResponse;
+import com.ogabek.CreativeLearningCenter.event.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Parent summaries keyed by smsLinkCode. Reminder messages make many parents open their link within minutes,
+// so summaries are kept for a short TTL in a bounded LRU map. Payment, attendance and enrollment events
+// evict the affected students after commit; the TTL also bounds staleness across a month boundary.
+// Unknown codes are cached too (for negative-ttl), so probing codes does not reach the database each time.
+@Component
+@Slf4j
+public class ParentSummaryCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    // Access-ordered, so the eldest entry is the least recently read; guarded by this
+    private final LinkedHashMap<String, Entry> entries;
+    // studentId -> code of its cached summary, so events evict without scanning entries; guarded by this
+    private final Map<Long, String> codesByStudent = new HashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    // Bumped on every eviction so a value computed concurrently with an eviction is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    public ParentSummaryCache(
+            @Value("${parents.cache.max-entries:10000}") int maxEntries,
+            @Value("${parents.cache.ttl:PT5M}") Duration ttl,
+            @Value("${parents.cache.negative-ttl:PT1M}") Duration negativeTtl) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ParentSummaryCache.this.maxEntries) {
+                    unindex(eldest.getKey(), eldest.getValue());
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Returns null when the code belongs to no student (Loaded.MISSING)
+    public ParentSummaryResponse get(String code, Supplier<Loaded> loader) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Entry cached = entries.get(code);
+            if (cached != null && cached.expiresAt() > now) {
+                hits.incrementAndGet();
+                return cached.summary();
+            }
+            if (cached != null) {
+                remove(code);
+                evictions.incrementAndGet();
+            }
+        }
+
+        misses.incrementAndGet();
+        long startGeneration = generation.get();
+        Loaded loaded = loader.get();
+        synchronized (this) {
+            if (generation.get() == startGeneration) {
+                long expiresAt = now + (loaded.studentId() != null ? ttlMillis : negativeTtlMillis);
+                Entry previous = entries.put(code, new Entry(loaded.summary(), loaded.studentId(), expiresAt));
+                if (previous != null) {
+                    unindex(code, previous);
+                }
+                if (loaded.studentId() != null) {
+                    codesByStudent.put(loaded.studentId(), code);
+                }
+            }
+        }
+        return loaded.summary();
+    }
+
+    public synchronized CacheStatsResponse stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+        return CacheStatsResponse.builder()
+                .name("parent-summaries")
+                .size(entries.size())
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.get())
+                .hitRate(total > 0 ? hitCount * 100.0 / total : 0.0)
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentChanged(PaymentChangedEvent event) {
+        evictStudents(Set.of(event.studentId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        evictStudents(event.studentIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        evictStudents(Set.of(event.studentId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        evictStudents(Set.of(event.studentId()));
+    }
+
+    // Group names, teachers and fees appear in every summary of the group
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupChanged(GroupChangedEvent event) {
+        clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeacherChanged(TeacherChangedEvent event) {
+        clear();
+    }
+
+    private synchronized void clear() {
+        generation.incrementAndGet();
+        evictions.addAndGet(entries.size());
+        entries.clear();
+        codesByStudent.clear();
+    }
+
+    private synchronized void evictStudents(Collection<Long> studentIds) {
+        generation.incrementAndGet();
+        for (Long studentId : studentIds) {
+            String code = codesByStudent.remove(studentId);
+            if (code != null && entries.remove(code) != null) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private void remove(String code) {
+        Entry entry = entries.remove(code);
+        if (entry != null) {
+            unindex(code, entry);
+        }
+    }
+
+    private void unindex(String code, Entry entry) {
+        if (entry.studentId() != null) {
+            codesByStudent.remove(entry.studentId(), code);
+        }
+    }
+
+    public record Loaded(ParentSummaryResponse summary, Long studentId) {
+
+        public static final Loaded MISSING = new Loaded(null, null);
+    }
+
+    private record Entry(ParentSummaryResponse summary, Long studentId, long expiresAt) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.ogabek.CreativeLearningCenter.cache;
+
+import com.ogabek.CreativeLearningCenter.dto.response.CacheStatsResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.ReportResponse.*;
+import com.ogabek.CreativeLearningCenter.event.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Holds computed daily, monthly and yearly reports. Domain events evict only the periods they touch,
+// and only after the publishing transaction commits. Only periods from CACHED_YEARS back to next year are
+// cached, and each region has a size cap, so requests for arbitrary dates cannot grow the cache.
+@Component
+@Slf4j
+public class ReportCache {
+
+    private static final int CACHED_YEARS = 5;
+
+    private final Region<LocalDate, DailyReport> daily = new Region<>("daily-reports", 1000);
+    private final Region<YearMonth, MonthlyReport> monthly = new Region<>("monthly-reports", 12 * (CACHED_YEARS + 2));
+    private final Region<Integer, YearlyReport> yearly = new Region<>("yearly-reports", CACHED_YEARS + 2);
+
+    public DailyReport getDaily(LocalDate date, Supplier<DailyReport> loader) {
+        return cacheable(date.getYear()) ? daily.get(date, loader) : loader.get();
+    }
+
+    public MonthlyReport getMonthly(YearMonth month, Supplier<MonthlyReport> loader) {
+        return cacheable(month.getYear()) ? monthly.get(month, loader) : loader.get();
+    }
+
+    public YearlyReport getYearly(int year, Supplier<YearlyReport> loader) {
+        return cacheable(year) ? yearly.get(year, loader) : loader.get();
+    }
+
+    public List<CacheStatsResponse> getStats() {
+        return List.of(daily.stats(), monthly.stats(), yearly.stats());
+    }
+
+    public void evictAll() {
+        daily.clear();
+        monthly.clear();
+        yearly.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentChanged(PaymentChangedEvent event) {
+        YearMonth month = YearMonth.parse(event.paidForMonth());
+        if (event.paidDate() != null) {
+            daily.evict(event.paidDate());
+        }
+        monthly.evict(month);
+        yearly.evict(month.getYear());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceChanged(AttendanceChangedEvent event) {
+        daily.evict(event.date());
+        monthly.evict(YearMonth.from(event.date()));
+        yearly.evict(event.date().getYear());
+    }
+
+    // Expected revenue and student counts use current enrollments, so every month and year is affected
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        monthly.clear();
+        yearly.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsImported(StudentsImportedEvent event) {
+        if (!event.groupIds().isEmpty()) {
+            monthly.clear();
+            yearly.clear();
+        }
+    }
+
+    // Group names, fees and cascaded payment/attendance deletes can show up in any report
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupChanged(GroupChangedEvent event) {
+        evictAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        evictAll();
+    }
+
+    // Teacher names appear in daily and monthly group rows and in the yearly teacher stats
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeacherChanged(TeacherChangedEvent event) {
+        evictAll();
+    }
+
+    // Reports read group_month_stats, attendance_months and active student counts, so a rebuild can change any period
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRollupRebuilt(RollupRebuiltEvent event) {
+        evictAll();
+    }
+
+    private static boolean cacheable(int year) {
+        int current = Year.now().getValue();
+        return year >= current - CACHED_YEARS && year <= current + 1;
+    }
+
+    private static class Region<K, V> {
+
+        private final String name;
+        private final int maxEntries;
+        private final Map<K, V> entries = new ConcurrentHashMap<>();
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+        // Bumped on every eviction so a value computed concurrently with an eviction is not stored
+        private final AtomicLong generation = new AtomicLong();
+
+        Region(String name, int maxEntries) {
+            this.name = name;
+            this.maxEntries = maxEntries;
+        }
+
+        V get(K key, Supplier<V> loader) {
+            V cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+
+            misses.incrementAndGet();
+            long startGeneration = generation.get();
+            V value = loader.get();
+            // The size check is not atomic with the put, so a few concurrent misses may overshoot the cap slightly
+            if (value != null && generation.get() == startGeneration && entries.size() < maxEntries) {
+                entries.put(key, value);
+            }
+            return value;
+        }
+
+        void evict(K key) {
+            generation.incrementAndGet();
+            if (entries.remove(key) != null) {
+                evictions.incrementAndGet();
+                log.debug("Evicted {} from {}", key, name);
+            }
+        }
+
+        void clear() {
+            generation.incrementAndGet();
+            int size = entries.size();
+            entries.clear();
+            evictions.addAndGet(size);
+        }
+
+        CacheStatsResponse stats() {
+            long hitCount = hits.get();
+            long missCount = misses.get();
+            long total = hitCount + missCount;
+            return CacheStatsResponse.builder()
+                    .name(name)
+                    .size(entries.size())
+                    .hits(hitCount)
+                    .misses(missCount)
+                    .evictions(evictions.get())
+                    .hitRate(total > 0 ? hitCount * 100.0 / total : 0.0)
+                    .build();
+        }
+    }
+}
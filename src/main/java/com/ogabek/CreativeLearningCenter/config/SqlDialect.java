@@ -0,0 +1,33 @@
+package com.ogabek.CreativeLearningCenter.config;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+// Native statements whose syntax differs between PostgreSQL (prod) and H2 (dev, tests).
+// Upserts are INSERT ... ON CONFLICT on PostgreSQL and MERGE on H2.
+@Component
+public class SqlDialect {
+
+    private final boolean postgres;
+
+    public SqlDialect(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            this.postgres = "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Cannot determine the database product", e);
+        }
+    }
+
+    public boolean isPostgres() {
+        return postgres;
+    }
+
+    public String pick(String postgresSql, String h2Sql) {
+        return postgres ? postgresSql : h2Sql;
+    }
+}
@@ -1,9 +1,17 @@
 package com.ogabek.CreativeLearningCenter.controller;
 
+import com.ogabek.CreativeLearningCenter.dto.request.AttendanceBatchUpdateRequest;
 import com.ogabek.CreativeLearningCenter.dto.request.AttendanceRequest;
 import com.ogabek.CreativeLearningCenter.dto.request.AttendanceUpdateRequest;
+import com.ogabek.CreativeLearningCenter.dto.request.BulkAttendanceRequest;
 import com.ogabek.CreativeLearningCenter.dto.response.AttendanceResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.AttendanceSheetResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.BulkAttendanceResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.RebuildResponse;
 import com.ogabek.CreativeLearningCenter.service.AttendanceService;
+import com.ogabek.CreativeLearningCenter.service.impl.AttendanceMonthService;
+import com.ogabek.CreativeLearningCenter.service.impl.BulkAttendanceService;
+import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -20,12 +28,22 @@ import java.util.List;
 public class AttendanceController {
     
     private final AttendanceService attendanceService;
+    private final AttendanceMonthService attendanceMonthService;
+    private final BulkAttendanceService bulkAttendanceService;
     
     @PostMapping
     public ResponseEntity<List<AttendanceResponse>> create(@Valid @RequestBody AttendanceRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(attendanceService.createForGroup(request));
     }
     
+    @PostMapping("/bulk")
+    @Operation(summary = "Create attendance for many groups and dates",
+               description = "Entries have the same shape as POST /api/attendances. Valid entries are created " +
+                       "in one transaction, invalid ones are reported per entry and skipped.")
+    public ResponseEntity<BulkAttendanceResponse> createBulk(@Valid @RequestBody BulkAttendanceRequest request) {
+        return ResponseEntity.ok(bulkAttendanceService.create(request));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<AttendanceResponse> getById(@PathVariable Long id) {
         return ResponseEntity.ok(attendanceService.getById(id));
@@ -53,6 +71,23 @@ public class AttendanceController {
         return ResponseEntity.ok(attendanceService.getByGroupIdAndMonth(groupId, year, month));
     }
     
+    @GetMapping("/group/{groupId}/sheet/{year}/{month}")
+    @Operation(summary = "Get monthly attendance sheet",
+               description = "Present and absent days per student for a group and month, read from the bitset storage")
+    public ResponseEntity<AttendanceSheetResponse> getSheet(
+            @PathVariable Long groupId,
+            @PathVariable Integer year,
+            @PathVariable Integer month) {
+        return ResponseEntity.ok(attendanceMonthService.getSheet(groupId, year, month));
+    }
+    
+    @PostMapping("/months/rebuild")
+    @Operation(summary = "Rebuild attendance bitsets",
+               description = "Recompute attendance_months from all attendance records (migration or repair)")
+    public ResponseEntity<RebuildResponse> rebuildMonths() {
+        return ResponseEntity.ok(attendanceMonthService.rebuild());
+    }
+    
     @GetMapping("/student/{studentId}/month/{year}/{month}")
     public ResponseEntity<List<AttendanceResponse>> getByStudentIdAndMonth(
             @PathVariable Long studentId,
@@ -73,6 +108,15 @@ public class AttendanceController {
         return ResponseEntity.ok(attendances);
     }
 
+    @PatchMapping
+    @Operation(summary = "Update the status of many attendance records",
+               description = "Items are identified by id or by studentId + groupId + date. " +
+                       "All items are applied or none; returns the updated records.")
+    public ResponseEntity<List<AttendanceResponse>> updateBatch(
+            @Valid @RequestBody AttendanceBatchUpdateRequest request) {
+        return ResponseEntity.ok(bulkAttendanceService.updateStatuses(request));
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<AttendanceResponse> update(@PathVariable Long id,
                                                       @Valid @RequestBody AttendanceUpdateRequest request) {
@@ -2,7 +2,12 @@ package com.ogabek.CreativeLearningCenter.controller;
 
 import com.ogabek.CreativeLearningCenter.dto.request.GroupRequest;
 import com.ogabek.CreativeLearningCenter.dto.response.GroupResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.RebuildResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.StudentResponse;
 import com.ogabek.CreativeLearningCenter.service.GroupService;
+import com.ogabek.CreativeLearningCenter.service.StudentService;
+import com.ogabek.CreativeLearningCenter.service.impl.ActiveStudentCountService;
+import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,12 +22,21 @@ import java.util.List;
 public class GroupController {
     
     private final GroupService groupService;
+    private final StudentService studentService;
+    private final ActiveStudentCountService activeStudentCountService;
     
     @PostMapping
     public ResponseEntity<GroupResponse> create(@Valid @RequestBody GroupRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(groupService.create(request));
     }
     
+    @PostMapping("/active-counts/repair")
+    @Operation(summary = "Repair active student counts",
+               description = "Recount active enrollments per group and fix groups whose stored count drifted")
+    public ResponseEntity<RebuildResponse> repairActiveCounts() {
+        return ResponseEntity.ok(activeStudentCountService.repair());
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<GroupResponse> getById(@PathVariable Long id) {
         return ResponseEntity.ok(groupService.getById(id));
@@ -33,6 +47,17 @@ public class GroupController {
         return ResponseEntity.ok(groupService.getAll());
     }
     
+    @GetMapping("/{id}/roster")
+    @Operation(summary = "Get group roster",
+               description = "Active students of the group with payment status for year/month " +
+                       "(default: current month); fixed number of queries regardless of group size")
+    public ResponseEntity<List<StudentResponse>> getRoster(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month) {
+        return ResponseEntity.ok(studentService.getByGroupId(id, year, month));
+    }
+    
     @GetMapping("/sorted-by-teacher")
     public ResponseEntity<List<GroupResponse>> getAllSortedByTeacher() {
         return ResponseEntity.ok(groupService.getAllSortedByTeacher());
@@ -0,0 +1,25 @@
+package com.ogabek.CreativeLearningCenter.controller;
+
+import com.ogabek.CreativeLearningCenter.dto.response.ParentSummaryResponse;
+import com.ogabek.CreativeLearningCenter.service.impl.ParentSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+// Public, unauthenticated endpoints for parents; the smsLinkCode acts as the access key
+@RestController
+@RequestMapping("/api/public/parents")
+@RequiredArgsConstructor
+public class ParentController {
+
+    private final ParentSummaryService parentSummaryService;
+
+    @GetMapping("/{smsLinkCode}")
+    @Operation(summary = "Get parent summary",
+               description = "Student's active groups, this month's payment status and the last 30 days of " +
+                       "attendance, looked up by the code sent in reminder messages")
+    public ResponseEntity<ParentSummaryResponse> getSummary(@PathVariable String smsLinkCode) {
+        return ResponseEntity.ok(parentSummaryService.getSummary(smsLinkCode));
+    }
+}
@@ -2,13 +2,16 @@ package com.ogabek.CreativeLearningCenter.controller;
 
 import com.ogabek.CreativeLearningCenter.dto.request.PaymentRequest;
 import com.ogabek.CreativeLearningCenter.dto.response.PaymentResponse;
+import com.ogabek.CreativeLearningCenter.service.ExportService;
 import com.ogabek.CreativeLearningCenter.service.PaymentService;
+import com.ogabek.CreativeLearningCenter.util.CsvResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,6 +21,7 @@ import java.util.List;
 public class PaymentController {
     
     private final PaymentService paymentService;
+    private final ExportService exportService;
     
     @PostMapping
     public ResponseEntity<PaymentResponse> create(@Valid @RequestBody PaymentRequest request) {
@@ -34,6 +38,13 @@ public class PaymentController {
         return ResponseEntity.ok(paymentService.getAll());
     }
     
+    @GetMapping("/export")
+    @Operation(summary = "Export all payments as CSV",
+               description = "Streams every payment as CSV; gzip=true returns a .csv.gz file")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "false") boolean gzip) {
+        return CsvResponses.attachment("payments", gzip, exportService::writePaymentsCsv);
+    }
+    
     @GetMapping("/student/{studentId}")
     public ResponseEntity<List<PaymentResponse>> getByStudentId(@PathVariable Long studentId) {
         return ResponseEntity.ok(paymentService.getByStudentId(studentId));
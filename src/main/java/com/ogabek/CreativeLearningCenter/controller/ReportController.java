@@ -1,12 +1,30 @@
 package com.ogabek.CreativeLearningCenter.controller;
 
+import com.ogabek.CreativeLearningCenter.cache.ParentSummaryCache;
+import com.ogabek.CreativeLearningCenter.cache.ReportCache;
+import com.ogabek.CreativeLearningCenter.dto.request.ReportJobRequest;
+import com.ogabek.CreativeLearningCenter.dto.response.CacheStatsResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.RebuildResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.ReportJobResponse;
 import com.ogabek.CreativeLearningCenter.dto.response.ReportResponse.*;
+import com.ogabek.CreativeLearningCenter.exception.BadRequestException;
+import com.ogabek.CreativeLearningCenter.service.ExportService;
 import com.ogabek.CreativeLearningCenter.service.ReportService;
+import com.ogabek.CreativeLearningCenter.service.impl.GroupMonthStatsService;
+import com.ogabek.CreativeLearningCenter.service.impl.ReportJobService;
+import com.ogabek.CreativeLearningCenter.util.CsvResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -15,6 +33,11 @@ import org.springframework.web.bind.annotation.*;
 public class ReportController {
 
     private final ReportService reportService;
+    private final GroupMonthStatsService groupMonthStatsService;
+    private final ReportCache reportCache;
+    private final ParentSummaryCache parentSummaryCache;
+    private final ExportService exportService;
+    private final ReportJobService reportJobService;
 
     @GetMapping("/daily/{year}/{month}/{day}")
     @Operation(summary = "Get daily report", description = "Get attendance and payment summary for a specific day")
@@ -34,10 +57,65 @@ public class ReportController {
         return ResponseEntity.ok(reportService.getMonthlyReport(year, month));
     }
 
+    @GetMapping("/monthly/{year}/{month}/unpaid/export")
+    @Operation(summary = "Export unpaid students as CSV",
+            description = "Streams active enrollments without a payment for the month; gzip=true returns a .csv.gz file")
+    public ResponseEntity<StreamingResponseBody> exportUnpaidStudents(
+            @PathVariable Integer year,
+            @PathVariable Integer month,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        // Validate before streaming starts; errors after the first byte can no longer change the status
+        if (month < 1 || month > 12) {
+            throw new BadRequestException("Month must be between 1 and 12");
+        }
+        return CsvResponses.attachment(String.format("unpaid-%d-%02d", year, month), gzip,
+                out -> exportService.writeUnpaidStudentsCsv(year, month, out));
+    }
+
     @GetMapping("/yearly/{year}")
     @Operation(summary = "Get yearly report",
             description = "Get yearly summary including revenue breakdown, teacher stats, and top performing groups")
     public ResponseEntity<YearlyReport> getYearlyReport(@PathVariable Integer year) {
         return ResponseEntity.ok(reportService.getYearlyReport(year));
     }
+
+    @GetMapping("/daily-series")
+    @Operation(summary = "Get daily summaries for a date range",
+            description = "One attendance and payment summary per day from 'from' to 'to' (inclusive, max 366 days)")
+    public ResponseEntity<List<DailySeriesEntry>> getDailySeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(reportService.getDailySeries(from, to));
+    }
+
+    @PostMapping("/jobs")
+    @Operation(summary = "Start a report job",
+            description = "Computes a daily, monthly or yearly report in the background and returns the job id to poll")
+    public ResponseEntity<ReportJobResponse> submitJob(@Valid @RequestBody ReportJobRequest request) {
+        return ResponseEntity.accepted().body(reportJobService.submit(request));
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Get report job status",
+            description = "Returns the job status and, once completed, the report (kept until the job expires)")
+    public ResponseEntity<ReportJobResponse> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(reportJobService.get(id));
+    }
+
+    @PostMapping("/group-month-stats/rebuild")
+    @Operation(summary = "Rebuild group-month revenue stats",
+            description = "Recompute the group_month_stats rollup from all payments (backfill or repair)")
+    public ResponseEntity<RebuildResponse> rebuildGroupMonthStats() {
+        return ResponseEntity.ok(groupMonthStatsService.rebuild());
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get report cache statistics",
+            description = "Size, hits, misses and evictions of the daily, monthly and yearly report caches " +
+                    "and the parent summary cache")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        List<CacheStatsResponse> stats = new ArrayList<>(reportCache.getStats());
+        stats.add(parentSummaryCache.stats());
+        return ResponseEntity.ok(stats);
+    }
 }
@@ -0,0 +1,73 @@
+package com.ogabek.CreativeLearningCenter.controller;
+
+import com.ogabek.CreativeLearningCenter.dto.request.GroupScheduleRequest;
+import com.ogabek.CreativeLearningCenter.dto.response.GroupScheduleResponse;
+import com.ogabek.CreativeLearningCenter.service.ScheduleService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/schedules")
+@RequiredArgsConstructor
+public class ScheduleController {
+    
+    private final ScheduleService scheduleService;
+    
+    @PostMapping
+    @Operation(summary = "Add a weekly lesson slot to a group",
+               description = "Rejected when the group's teacher or the room is already booked at that time")
+    public ResponseEntity<GroupScheduleResponse> create(@Valid @RequestBody GroupScheduleRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(scheduleService.create(request));
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<GroupScheduleResponse> update(@PathVariable Long id,
+                                                        @Valid @RequestBody GroupScheduleRequest request) {
+        return ResponseEntity.ok(scheduleService.update(id, request));
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        scheduleService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/group/{groupId}")
+    public ResponseEntity<List<GroupScheduleResponse>> getByGroupId(@PathVariable Long groupId) {
+        return ResponseEntity.ok(scheduleService.getByGroupId(groupId));
+    }
+    
+    @GetMapping("/teacher/{teacherId}")
+    public ResponseEntity<List<GroupScheduleResponse>> getByTeacherId(@PathVariable Long teacherId) {
+        return ResponseEntity.ok(scheduleService.getByTeacherId(teacherId));
+    }
+    
+    @GetMapping("/room")
+    public ResponseEntity<List<GroupScheduleResponse>> getByRoom(@RequestParam String name) {
+        return ResponseEntity.ok(scheduleService.getByRoom(name));
+    }
+    
+    @GetMapping("/now")
+    @Operation(summary = "Lessons running now",
+               description = "Slots in progress at the given date-time (default: now)")
+    public ResponseEntity<List<GroupScheduleResponse>> getRunningAt(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(scheduleService.getRunningAt(at));
+    }
+    
+    @GetMapping("/date/{date}")
+    @Operation(summary = "Lessons on a date", description = "All slots on the weekday of the given date")
+    public ResponseEntity<List<GroupScheduleResponse>> getByDate(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(scheduleService.getByDate(date));
+    }
+}
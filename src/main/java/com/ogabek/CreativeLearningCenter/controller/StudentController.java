@@ -1,16 +1,29 @@
 package com.ogabek.CreativeLearningCenter.controller;
 
 import com.ogabek.CreativeLearningCenter.dto.request.StudentRequest;
+import com.ogabek.CreativeLearningCenter.dto.response.StudentImportResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.StudentPageResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.StudentProfileResponse;
 import com.ogabek.CreativeLearningCenter.dto.response.StudentResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.StudentSearchResponse;
+import com.ogabek.CreativeLearningCenter.exception.BadRequestException;
+import com.ogabek.CreativeLearningCenter.mapper.PaymentStatusProvider;
+import com.ogabek.CreativeLearningCenter.repository.StudentFilter;
+import com.ogabek.CreativeLearningCenter.search.StudentSearchIndex;
 import com.ogabek.CreativeLearningCenter.service.StudentService;
+import com.ogabek.CreativeLearningCenter.service.impl.StudentImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -19,22 +32,74 @@ import java.util.List;
 public class StudentController {
     
     private final StudentService studentService;
+    private final StudentSearchIndex studentSearchIndex;
+    private final StudentImportService studentImportService;
     
     @PostMapping
     public ResponseEntity<StudentResponse> create(@Valid @RequestBody StudentRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(studentService.create(request));
     }
     
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import students from CSV",
+               description = "Header: fullName,parentName,parentPhoneNumber and optional groupIds " +
+                       "(group ids separated by ';'). Valid rows are imported, invalid rows are reported by line.")
+    public ResponseEntity<StudentImportResponse> importCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(studentImportService.importCsv(in));
+        }
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<StudentResponse> getById(@PathVariable Long id) {
         return ResponseEntity.ok(studentService.getById(id));
     }
     
+    @GetMapping("/{id}/profile")
+    @Operation(summary = "Get student profile",
+               description = "Student with enrollments, full payment history and this month's attendance in one response")
+    public ResponseEntity<StudentProfileResponse> getProfile(@PathVariable Long id) {
+        return ResponseEntity.ok(studentService.getProfile(id));
+    }
+    
     @GetMapping
     public ResponseEntity<List<StudentResponse>> getAll() {
         return ResponseEntity.ok(studentService.getAll());
     }
     
+    @GetMapping("/search")
+    @Operation(summary = "Search students",
+               description = "Partial, case-insensitive match on student name, parent name or parent phone. " +
+                       "Latin and Cyrillic Uzbek spellings match each other; close misspellings are returned " +
+                       "when nothing matches exactly.")
+    public ResponseEntity<List<StudentSearchResponse>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(studentSearchIndex.search(q, limit));
+    }
+    
+    @GetMapping("/page")
+    @Operation(summary = "Get students page by page",
+               description = "Keyset pagination on id: pass the returned nextCursor as cursor. " +
+                       "Optional filters: groupId, teacherId, name prefix, and paid/unpaid for year-month " +
+                       "(default: current month).")
+    public ResponseEntity<StudentPageResponse> getPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long groupId,
+            @RequestParam(required = false) Long teacherId,
+            @RequestParam(required = false) Boolean paid,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) String name) {
+        if (month != null && (month < 1 || month > 12)) {
+            throw new BadRequestException("Month must be between 1 and 12");
+        }
+        StudentFilter filter = new StudentFilter(groupId, teacherId, paid,
+                PaymentStatusProvider.monthKey(year, month), name);
+        return ResponseEntity.ok(studentService.getPage(filter, cursor, size));
+    }
+    
     @GetMapping("/group/{groupId}")
     @Operation(summary = "Guruh bo'yicha o'quvchilarni olish", 
                description = "Ma'lum bir guruhdagi o'quvchilarni olish. Year va month parametrlari optional - agar berilmasa, joriy oy ishlatiladi.")
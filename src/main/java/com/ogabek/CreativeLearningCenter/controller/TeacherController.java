@@ -3,6 +3,7 @@ package com.ogabek.CreativeLearningCenter.controller;
 import com.ogabek.CreativeLearningCenter.dto.request.TeacherRequest;
 import com.ogabek.CreativeLearningCenter.dto.response.TeacherResponse;
 import com.ogabek.CreativeLearningCenter.service.TeacherService;
+import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -24,13 +25,22 @@ public class TeacherController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<TeacherResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(teacherService.getById(id));
+    @Operation(summary = "Get teacher by ID",
+               description = "totalIncome covers all time, or the given year, or year and month (by paid-for month)")
+    public ResponseEntity<TeacherResponse> getById(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month) {
+        return ResponseEntity.ok(teacherService.getById(id, year, month));
     }
     
     @GetMapping
-    public ResponseEntity<List<TeacherResponse>> getAll() {
-        return ResponseEntity.ok(teacherService.getAll());
+    @Operation(summary = "Get all teachers",
+               description = "totalIncome covers all time, or the given year, or year and month (by paid-for month)")
+    public ResponseEntity<List<TeacherResponse>> getAll(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month) {
+        return ResponseEntity.ok(teacherService.getAll(year, month));
     }
     
     @PutMapping("/{id}")
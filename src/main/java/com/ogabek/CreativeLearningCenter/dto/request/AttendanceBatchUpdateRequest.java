@@ -0,0 +1,41 @@
+package com.ogabek.CreativeLearningCenter.dto.request;
+
+import com.ogabek.CreativeLearningCenter.entity.AttendanceStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceBatchUpdateRequest {
+    
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 1000, message = "At most 1000 items per request")
+    private List<@Valid Item> items;
+    
+    // Identifies the record either by id or by studentId + groupId + date
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        
+        private Long id;
+        private Long studentId;
+        private Long groupId;
+        private LocalDate date;
+        
+        @NotNull(message = "Status is required")
+        private AttendanceStatus status;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ogabek.CreativeLearningCenter.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAttendanceRequest {
+    
+    // One entry per group and date, same shape as POST /api/attendances
+    @NotEmpty(message = "At least one entry is required")
+    @Size(max = 500, message = "At most 500 entries per request")
+    private List<@Valid AttendanceRequest> entries;
+}
@@ -0,0 +1,33 @@
+package com.ogabek.CreativeLearningCenter.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupScheduleRequest {
+    
+    @NotNull(message = "Group ID is required")
+    private Long groupId;
+    
+    @NotNull(message = "Day of week is required")
+    private DayOfWeek dayOfWeek;
+    
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+    
+    @NotNull(message = "End time is required")
+    private LocalTime endTime;
+    
+    @Size(max = 50, message = "Room must be at most 50 characters")
+    private String room;
+}
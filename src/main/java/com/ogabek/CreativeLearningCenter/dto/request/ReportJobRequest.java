@@ -0,0 +1,36 @@
+package com.ogabek.CreativeLearningCenter.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobRequest {
+
+    public enum ReportType {
+        DAILY, MONTHLY, YEARLY
+    }
+
+    @NotNull(message = "Report type is required")
+    private ReportType type;
+
+    @NotNull(message = "Year is required")
+    private Integer year;
+
+    // Required for DAILY and MONTHLY
+    @Min(value = 1, message = "Month must be between 1 and 12")
+    @Max(value = 12, message = "Month must be between 1 and 12")
+    private Integer month;
+
+    // Required for DAILY
+    @Min(value = 1, message = "Day must be between 1 and 31")
+    @Max(value = 31, message = "Day must be between 1 and 31")
+    private Integer day;
+}
@@ -0,0 +1,34 @@
+package com.ogabek.CreativeLearningCenter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceSheetResponse {
+
+    private Long groupId;
+    private int year;
+    private int month;
+    private int daysInMonth;
+    private List<StudentRow> students;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class StudentRow {
+        private Long studentId;
+        private String studentName;
+        private List<Integer> presentDays;
+        private List<Integer> absentDays;
+        private int presentCount;
+        private int absentCount;
+    }
+}
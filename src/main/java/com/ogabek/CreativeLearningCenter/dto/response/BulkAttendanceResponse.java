@@ -0,0 +1,36 @@
+package com.ogabek.CreativeLearningCenter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAttendanceResponse {
+
+    private int entries;
+    private int created;
+    private int failed;
+    private int records;
+    private List<EntryResult> results;
+    private long elapsedMillis;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class EntryResult {
+        private Long groupId;
+        private LocalDate date;
+        private boolean created;
+        private int present;
+        private int absent;
+        private String message;
+    }
+}
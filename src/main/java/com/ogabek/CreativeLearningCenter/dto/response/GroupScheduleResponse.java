@@ -0,0 +1,29 @@
+package com.ogabek.CreativeLearningCenter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupScheduleResponse {
+    
+    private Long id;
+    private Long groupId;
+    private String groupName;
+    private Long teacherId;
+    private String teacherName;
+    private DayOfWeek dayOfWeek;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String room;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,40 @@
+package com.ogabek.CreativeLearningCenter.dto.response;
+
+import com.ogabek.CreativeLearningCenter.entity.AttendanceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ParentSummaryResponse {
+
+    private String studentName;
+    private String currentMonth;
+    private Boolean paidForCurrentMonth;
+    private List<StudentResponse.GroupInfo> groups;
+
+    // Recent attendance across all groups, newest first
+    private List<AttendanceEntry> recentAttendance;
+    private int presentCount;
+    private int absentCount;
+
+    private LocalDateTime generatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AttendanceEntry {
+        private LocalDate date;
+        private String groupName;
+        private AttendanceStatus status;
+    }
+}
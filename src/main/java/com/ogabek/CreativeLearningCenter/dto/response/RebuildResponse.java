@@ -0,0 +1,17 @@
+package com.ogabek.CreativeLearningCenter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RebuildResponse {
+
+    private String target;
+    private int rows;
+    private long elapsedMillis;
+}
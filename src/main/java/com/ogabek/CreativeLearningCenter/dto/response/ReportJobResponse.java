@@ -0,0 +1,32 @@
+package com.ogabek.CreativeLearningCenter.dto.response;
+
+import com.ogabek.CreativeLearningCenter.dto.request.ReportJobRequest.ReportType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportJobResponse {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private String id;
+    private ReportType type;
+    private String period;
+    private Status status;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+    private String error;
+    // DailyReport, MonthlyReport or YearlyReport once COMPLETED
+    private Object result;
+}
@@ -160,4 +160,16 @@ public class ReportResponse {
         private int totalAbsent;
         private BigDecimal attendanceRate;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DailySeriesEntry {
+        private LocalDate date;
+        private int totalStudentsPresent;
+        private int totalStudentsAbsent;
+        private BigDecimal totalPaymentsReceived;
+        private int paymentCount;
+    }
 }
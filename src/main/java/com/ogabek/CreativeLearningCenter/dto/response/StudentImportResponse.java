@@ -0,0 +1,33 @@
+package com.ogabek.CreativeLearningCenter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentImportResponse {
+
+    private int totalRows;
+    private int imported;
+    private int enrollments;
+    private int failed;
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowError {
+        private int line;
+        private String message;
+    }
+}
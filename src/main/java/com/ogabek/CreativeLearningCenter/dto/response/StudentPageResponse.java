@@ -0,0 +1,20 @@
+package com.ogabek.CreativeLearningCenter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentPageResponse {
+
+    private List<StudentResponse> items;
+    // Pass as 'cursor' to get the next page; null on the last page
+    private Long nextCursor;
+    private int size;
+}
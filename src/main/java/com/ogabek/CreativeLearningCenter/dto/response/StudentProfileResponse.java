@@ -0,0 +1,29 @@
+package com.ogabek.CreativeLearningCenter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentProfileResponse {
+
+    private StudentResponse student;
+
+    // All enrollments, including groups the student has left
+    private List<StudentGroupResponse> enrollments;
+
+    // Full payment history, newest first
+    private List<PaymentResponse> payments;
+
+    // Current month's attendance across all groups
+    private String attendanceMonth;
+    private List<AttendanceResponse> attendance;
+    private int presentCount;
+    private int absentCount;
+}
@@ -0,0 +1,20 @@
+package com.ogabek.CreativeLearningCenter.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentSearchResponse {
+
+    private Long id;
+    private String fullName;
+    private String parentName;
+    private String parentPhoneNumber;
+    // 3 = word prefix, 2 = substring, below 1 = share of matching trigrams for fuzzy hits
+    private double score;
+}
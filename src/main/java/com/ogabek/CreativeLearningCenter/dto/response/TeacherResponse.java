@@ -18,6 +18,7 @@ public class TeacherResponse {
     private String fullName;
     private String phoneNumber;
     private BigDecimal totalIncome;
+    private String incomePeriod;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,51 @@
+package com.ogabek.CreativeLearningCenter.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Compact attendance: one row per (group, student, month). Bit (day - 1) of recordedMask is set when
+// attendance was taken that day, and the same bit of presentMask when the student was present.
+// See AttendanceBits for encoding helpers.
+@Entity
+@Table(name = "attendance_months", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"group_id", "student_id", "year_month"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceMonth {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "group_id", nullable = false)
+    private Group group;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @Column(nullable = false, length = 7)
+    private String yearMonth; // Format: YYYY-MM
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer presentMask = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer recordedMask = 0;
+
+    @Version
+    private Long version;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
@@ -2,13 +2,16 @@ package com.ogabek.CreativeLearningCenter.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+// Dynamic updates so saving a group never writes back a stale activeStudentCount
 @Entity
+@DynamicUpdate
 @Table(name = "groups")
 @Getter
 @Setter
@@ -31,6 +34,11 @@ public class Group {
     @Column(nullable = false, precision = 12, scale = 2)
     private BigDecimal monthlyFee;
 
+    // Active enrollments; changed only by +1/-1 UPDATE statements (ActiveStudentCountService), repaired nightly
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    @Builder.Default
+    private Integer activeStudentCount = 0;
+
     // Many-to-many relationship through StudentGroup
     @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
@@ -49,12 +57,6 @@ public class Group {
         updatedAt = LocalDateTime.now();
     }
 
-    public int getActiveStudentsCount() {
-        return (int) studentGroups.stream()
-                .filter(StudentGroup::getActive)
-                .count();
-    }
-
     public List<Student> getActiveStudents() {
         return studentGroups.stream()
                 .filter(StudentGroup::getActive)
@@ -0,0 +1,47 @@
+package com.ogabek.CreativeLearningCenter.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "group_month_stats", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"group_id", "year_month"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupMonthStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "group_id", nullable = false)
+    private Group group;
+
+    @Column(nullable = false, length = 7)
+    private String yearMonth; // Format: YYYY-MM, same as Payment.paidForMonth
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    @Builder.Default
+    private BigDecimal paidAmount = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer paymentCount = 0;
+
+    // Distinct students with at least one payment for this group and month
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer paidStudentCount = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
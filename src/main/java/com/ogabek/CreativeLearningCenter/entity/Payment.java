@@ -7,7 +7,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_paid_at", columnList = "paid_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,7 @@
+package com.ogabek.CreativeLearningCenter.event;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public record AttendanceChangedEvent(Long groupId, LocalDate date, Collection<Long> studentIds) {
+}
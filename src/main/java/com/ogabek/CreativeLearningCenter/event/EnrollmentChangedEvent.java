@@ -0,0 +1,4 @@
+package com.ogabek.CreativeLearningCenter.event;
+
+public record EnrollmentChangedEvent(Long studentId, Long groupId) {
+}
@@ -0,0 +1,4 @@
+package com.ogabek.CreativeLearningCenter.event;
+
+public record GroupChangedEvent(Long groupId) {
+}
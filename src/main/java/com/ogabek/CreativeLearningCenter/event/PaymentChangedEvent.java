@@ -0,0 +1,7 @@
+package com.ogabek.CreativeLearningCenter.event;
+
+import java.time.LocalDate;
+
+// Published for every payment state that appears or disappears (an update publishes old and new state)
+public record PaymentChangedEvent(Long studentId, Long groupId, String paidForMonth, LocalDate paidDate) {
+}
@@ -0,0 +1,6 @@
+package com.ogabek.CreativeLearningCenter.event;
+
+// A derived table or column (group_month_stats, attendance_months, groups.active_student_count) was recomputed
+// from its source rows
+public record RollupRebuiltEvent(String target) {
+}
@@ -0,0 +1,6 @@
+package com.ogabek.CreativeLearningCenter.event;
+
+import java.util.Collection;
+
+public record StudentsImportedEvent(int students, Collection<Long> groupIds) {
+}
@@ -0,0 +1,17 @@
+package com.ogabek.CreativeLearningCenter.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+// Mapped to 429 with a Retry-After header
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
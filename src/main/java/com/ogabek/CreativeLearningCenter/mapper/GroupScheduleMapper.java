@@ -0,0 +1,50 @@
+package com.ogabek.CreativeLearningCenter.mapper;
+
+import com.ogabek.CreativeLearningCenter.dto.request.GroupScheduleRequest;
+import com.ogabek.CreativeLearningCenter.dto.response.GroupScheduleResponse;
+import com.ogabek.CreativeLearningCenter.entity.Group;
+import com.ogabek.CreativeLearningCenter.entity.GroupSchedule;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GroupScheduleMapper {
+
+    public GroupSchedule toEntity(GroupScheduleRequest request, Group group) {
+        return GroupSchedule.builder()
+                .group(group)
+                .dayOfWeek(request.getDayOfWeek())
+                .startTime(request.getStartTime())
+                .endTime(request.getEndTime())
+                .room(normalizeRoom(request.getRoom()))
+                .build();
+    }
+
+    public void updateEntity(GroupSchedule schedule, GroupScheduleRequest request, Group group) {
+        schedule.setGroup(group);
+        schedule.setDayOfWeek(request.getDayOfWeek());
+        schedule.setStartTime(request.getStartTime());
+        schedule.setEndTime(request.getEndTime());
+        schedule.setRoom(normalizeRoom(request.getRoom()));
+    }
+
+    // Needs group and group.teacher loaded
+    public GroupScheduleResponse toResponse(GroupSchedule schedule) {
+        return GroupScheduleResponse.builder()
+                .id(schedule.getId())
+                .groupId(schedule.getGroup().getId())
+                .groupName(schedule.getGroup().getName())
+                .teacherId(schedule.getGroup().getTeacher().getId())
+                .teacherName(schedule.getGroup().getTeacher().getFullName())
+                .dayOfWeek(schedule.getDayOfWeek())
+                .startTime(schedule.getStartTime())
+                .endTime(schedule.getEndTime())
+                .room(schedule.getRoom())
+                .createdAt(schedule.getCreatedAt())
+                .updatedAt(schedule.getUpdatedAt())
+                .build();
+    }
+
+    private static String normalizeRoom(String room) {
+        return room == null || room.isBlank() ? null : room.trim();
+    }
+}
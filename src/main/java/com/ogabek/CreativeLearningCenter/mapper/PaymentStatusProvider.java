@@ -0,0 +1,60 @@
+package com.ogabek.CreativeLearningCenter.mapper;
+
+import com.ogabek.CreativeLearningCenter.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Loads (student, group) -> paid amount for one month in a single grouped query,
+// so StudentMapper doesn't have to query per enrollment
+@Component
+@RequiredArgsConstructor
+public class PaymentStatusProvider {
+
+    private final PaymentRepository paymentRepository;
+
+    public PaidAmounts forMonth(String month) {
+        return new PaidAmounts(month, paymentRepository.getPaidAmountsGroupedByStudentAndGroup(month));
+    }
+
+    public PaidAmounts forStudents(String month, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return new PaidAmounts(month, List.of());
+        }
+        return new PaidAmounts(month, paymentRepository.getPaidAmountsGroupedByStudentAndGroup(month, studentIds));
+    }
+
+    // YYYY-MM for the given period, or the current month when either part is missing
+    public static String monthKey(Integer year, Integer month) {
+        LocalDate date = year != null && month != null ? LocalDate.of(year, month, 1) : LocalDate.now();
+        return date.getYear() + "-" + String.format("%02d", date.getMonthValue());
+    }
+
+    public static final class PaidAmounts {
+
+        private final String month;
+        private final Map<Long, Map<Long, BigDecimal>> amountsByStudent = new HashMap<>();
+
+        private PaidAmounts(String month, List<Object[]> rows) {
+            this.month = month;
+            for (Object[] row : rows) {
+                amountsByStudent.computeIfAbsent((Long) row[0], id -> new HashMap<>())
+                        .put((Long) row[1], (BigDecimal) row[2]);
+            }
+        }
+
+        public String getMonth() {
+            return month;
+        }
+
+        public BigDecimal get(Long studentId, Long groupId) {
+            return amountsByStudent.getOrDefault(studentId, Map.of()).getOrDefault(groupId, BigDecimal.ZERO);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ogabek.CreativeLearningCenter.mapper;
+
+import com.ogabek.CreativeLearningCenter.dto.response.StudentGroupResponse;
+import com.ogabek.CreativeLearningCenter.entity.StudentGroup;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StudentGroupMapper {
+
+    // Needs student, group and group.teacher loaded
+    public StudentGroupResponse toResponse(StudentGroup sg) {
+        return StudentGroupResponse.builder()
+                .id(sg.getId())
+                .studentId(sg.getStudent().getId())
+                .studentName(sg.getStudent().getFullName())
+                .groupId(sg.getGroup().getId())
+                .groupName(sg.getGroup().getName())
+                .teacherName(sg.getGroup().getTeacher().getFullName())
+                .monthlyFee(sg.getGroup().getMonthlyFee())
+                .active(sg.getActive())
+                .enrolledAt(sg.getEnrolledAt())
+                .leftAt(sg.getLeftAt())
+                .build();
+    }
+}
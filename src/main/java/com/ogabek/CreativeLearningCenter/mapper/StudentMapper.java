@@ -4,19 +4,30 @@ import com.ogabek.CreativeLearningCenter.dto.request.StudentRequest;
 import com.ogabek.CreativeLearningCenter.dto.response.StudentResponse;
 import com.ogabek.CreativeLearningCenter.entity.Student;
 import com.ogabek.CreativeLearningCenter.entity.StudentGroup;
-import com.ogabek.CreativeLearningCenter.repository.PaymentRepository;
+import com.ogabek.CreativeLearningCenter.mapper.PaymentStatusProvider.PaidAmounts;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.security.SecureRandom;
+import java.util.HexFormat;
 import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class StudentMapper {
 
-    private final PaymentRepository paymentRepository;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final PaymentStatusProvider paymentStatusProvider;
+
+    // Reference code given to parents; unique per student. It is the only credential of the public parent
+    // endpoint, so it carries 80 random bits
+    public static String newSmsLinkCode() {
+        byte[] bytes = new byte[10];
+        RANDOM.nextBytes(bytes);
+        return "STU-" + HexFormat.of().withUpperCase().formatHex(bytes);
+    }
 
     public Student toEntity(StudentRequest request) {
         return Student.builder()
@@ -26,24 +37,29 @@ public class StudentMapper {
                 .build();
     }
 
+    // Single-student convenience; lists should load PaidAmounts once and use the overload below
     public StudentResponse toResponse(Student student, BigDecimal totalPaid,
                                       List<StudentGroup> activeGroups,
                                       Integer checkYear, Integer checkMonth) {
         // Use current month if not specified
-        LocalDate checkDate = LocalDate.now();
-        if (checkYear != null && checkMonth != null) {
-            checkDate = LocalDate.of(checkYear, checkMonth, 1);
-        }
+        String targetMonth = PaymentStatusProvider.monthKey(checkYear, checkMonth);
+        PaidAmounts paidAmounts = activeGroups.isEmpty()
+                ? paymentStatusProvider.forStudents(targetMonth, List.of())
+                : paymentStatusProvider.forStudents(targetMonth, List.of(student.getId()));
+        return toResponse(student, totalPaid, activeGroups, paidAmounts);
+    }
 
-        final String targetMonth = checkDate.getYear() + "-" + String.format("%02d", checkDate.getMonthValue());
+    public StudentResponse toResponse(Student student, BigDecimal totalPaid,
+                                      List<StudentGroup> activeGroups,
+                                      PaidAmounts paidAmounts) {
+        final String targetMonth = paidAmounts.getMonth();
 
         int groupsPaid = 0;
         int groupsUnpaid = 0;
 
         List<StudentResponse.GroupInfo> groupInfos = activeGroups.stream()
                 .map(sg -> {
-                    BigDecimal paidThisMonth = paymentRepository.getTotalPaidByStudentIdAndGroupIdAndMonth(
-                            student.getId(), sg.getGroup().getId(), targetMonth);
+                    BigDecimal paidThisMonth = paidAmounts.get(student.getId(), sg.getGroup().getId());
 
                     boolean hasPaid = paidThisMonth.compareTo(BigDecimal.ZERO) > 0;
 
@@ -18,11 +18,17 @@ public class TeacherMapper {
     }
 
     public TeacherResponse toResponse(Teacher teacher, BigDecimal totalIncome) {
+        return toResponse(teacher, totalIncome, null);
+    }
+
+    // incomePeriod is the year or year-month the income covers; null means all time
+    public TeacherResponse toResponse(Teacher teacher, BigDecimal totalIncome, String incomePeriod) {
         return TeacherResponse.builder()
                 .id(teacher.getId())
                 .fullName(teacher.getFullName())
                 .phoneNumber(teacher.getPhoneNumber())
                 .totalIncome(totalIncome)
+                .incomePeriod(incomePeriod)
                 .createdAt(teacher.getCreatedAt())
                 .updatedAt(teacher.getUpdatedAt())
                 .build();
@@ -0,0 +1,35 @@
+package com.ogabek.CreativeLearningCenter.repository;
+
+import com.ogabek.CreativeLearningCenter.entity.AttendanceMonth;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AttendanceMonthRepository extends JpaRepository<AttendanceMonth, Long> {
+
+    List<AttendanceMonth> findByGroupIdAndYearMonth(Long groupId, String yearMonth);
+
+    @Query("SELECT m FROM AttendanceMonth m JOIN FETCH m.student s " +
+            "WHERE m.group.id = :groupId AND m.yearMonth = :yearMonth ORDER BY s.fullName")
+    List<AttendanceMonth> findSheetRows(@Param("groupId") Long groupId, @Param("yearMonth") String yearMonth);
+
+    // (presentMask, recordedMask) pairs; callers count with popcount
+    @Query("SELECT m.presentMask, m.recordedMask FROM AttendanceMonth m WHERE m.yearMonth = :yearMonth")
+    List<Object[]> findMasksByYearMonth(@Param("yearMonth") String yearMonth);
+
+    @Query("SELECT m.presentMask, m.recordedMask FROM AttendanceMonth m WHERE m.yearMonth LIKE CONCAT(:year, '-%')")
+    List<Object[]> findMasksByYear(@Param("year") int year);
+
+    @Modifying
+    @Query("DELETE FROM AttendanceMonth m WHERE m.group.id = :groupId")
+    int deleteByGroupId(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query("DELETE FROM AttendanceMonth m WHERE m.student.id = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+}
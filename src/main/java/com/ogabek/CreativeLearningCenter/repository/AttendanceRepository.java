@@ -1,12 +1,18 @@
 package com.ogabek.CreativeLearningCenter.repository;
 
+import com.ogabek.CreativeLearningCenter.dto.response.AttendanceResponse;
 import com.ogabek.CreativeLearningCenter.entity.Attendance;
+import com.ogabek.CreativeLearningCenter.entity.AttendanceStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,8 +43,9 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
         return findByGroupIdAndDateBetween(groupId, startDate, endDate);
     }
 
+    @EntityGraph(attributePaths = {"student", "group"})
     @Query("SELECT a FROM Attendance a WHERE a.student.id = :studentId " +
-            "AND a.date >= :startDate AND a.date < :endDate")
+            "AND a.date >= :startDate AND a.date < :endDate ORDER BY a.date")
     List<Attendance> findByStudentIdAndDateBetween(@Param("studentId") Long studentId,
                                                    @Param("startDate") LocalDate startDate,
                                                    @Param("endDate") LocalDate endDate);
@@ -67,17 +74,66 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
         return findByStudentIdAndGroupIdAndDateBetween(studentId, groupId, startDate, endDate);
     }
 
-    @Query("SELECT a FROM Attendance a WHERE a.date >= :startDate AND a.date < :endDate")
-    List<Attendance> findByDateBetween(@Param("startDate") LocalDate startDate,
-                                       @Param("endDate") LocalDate endDate);
+    // Constructor projection (AttendanceResponse field order): no managed entities, no student/group proxies
+    @Query("SELECT new com.ogabek.CreativeLearningCenter.dto.response.AttendanceResponse(" +
+            "a.id, a.date, s.id, s.fullName, g.id, g.name, a.status, a.createdAt, a.updatedAt) " +
+            "FROM Attendance a JOIN a.student s JOIN a.group g " +
+            "WHERE a.date >= :startDate AND a.date < :endDate ORDER BY a.date, g.name, s.fullName")
+    List<AttendanceResponse> findResponsesByDateBetween(@Param("startDate") LocalDate startDate,
+                                                        @Param("endDate") LocalDate endDate);
 
-    default List<Attendance> findByMonth(int year, int month) {
+    default List<AttendanceResponse> findResponsesByMonth(int year, int month) {
         LocalDate startDate = LocalDate.of(year, month, 1);
-        LocalDate endDate = startDate.plusMonths(1);
-        return findByDateBetween(startDate, endDate);
+        return findResponsesByDateBetween(startDate, startDate.plusMonths(1));
     }
 
-    void deleteByGroupId(Long groupId);
+    @Query("SELECT new com.ogabek.CreativeLearningCenter.dto.response.AttendanceResponse(" +
+            "a.id, a.date, s.id, s.fullName, g.id, g.name, a.status, a.createdAt, a.updatedAt) " +
+            "FROM Attendance a JOIN a.student s JOIN a.group g " +
+            "WHERE a.id IN :ids ORDER BY a.date, g.name, s.fullName")
+    List<AttendanceResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // (id, groupId, studentId, date, status) for batch status updates
+    @Query("SELECT a.id, a.group.id, a.student.id, a.date, a.status FROM Attendance a WHERE a.id IN :ids")
+    List<Object[]> findKeysByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Same tuples for every (group, date) combination; callers keep the students they asked for
+    @Query("SELECT a.id, a.group.id, a.student.id, a.date, a.status FROM Attendance a " +
+            "WHERE a.group.id IN :groupIds AND a.date IN :dates")
+    List<Object[]> findKeysByGroupIdInAndDateIn(@Param("groupIds") Collection<Long> groupIds,
+                                                @Param("dates") Collection<LocalDate> dates);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Attendance a SET a.status = :status, a.updatedAt = :now WHERE a.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("status") AttendanceStatus status,
+                           @Param("now") LocalDateTime now);
+
+    // (date, status, count) tuples for a date range
+    @Query("SELECT a.date, a.status, COUNT(a) FROM Attendance a " +
+            "WHERE a.date >= :startDate AND a.date < :endDate " +
+            "GROUP BY a.date, a.status")
+    List<Object[]> countByDateAndStatusBetween(@Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+
+    // (date, groupName, status) of one student since the given date, newest first
+    @Query("SELECT a.date, g.name, a.status FROM Attendance a JOIN a.group g " +
+            "WHERE a.student.id = :studentId AND a.date >= :fromDate ORDER BY a.date DESC, g.name")
+    List<Object[]> findRecentByStudentId(@Param("studentId") Long studentId, @Param("fromDate") LocalDate fromDate);
+
+    // Bulk deletes for CascadeDeletionService: one statement each, return the number of rows removed
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Attendance a WHERE a.group.id = :groupId")
+    int deleteByGroupId(@Param("groupId") Long groupId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Attendance a WHERE a.student.id = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
 
     boolean existsByGroupIdAndDate(Long groupId, LocalDate date);
+
+    // (groupId, date) combinations that already have attendance; callers keep only the pairs they asked for
+    @Query("SELECT DISTINCT a.group.id, a.date FROM Attendance a WHERE a.group.id IN :groupIds AND a.date IN :dates")
+    List<Object[]> findRecordedGroupDates(@Param("groupIds") Collection<Long> groupIds,
+                                          @Param("dates") Collection<LocalDate> dates);
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.ogabek.CreativeLearningCenter.repository;
+
+import com.ogabek.CreativeLearningCenter.entity.GroupMonthStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface GroupMonthStatsRepository extends JpaRepository<GroupMonthStats, Long> {
+
+    List<GroupMonthStats> findByYearMonth(String yearMonth);
+
+    @Query("SELECT s FROM GroupMonthStats s WHERE s.yearMonth LIKE CONCAT(:year, '-%')")
+    List<GroupMonthStats> findByYear(@Param("year") int year);
+
+    // Applies a delta in place; returns 0 when the (group, month) row does not exist yet
+    @Modifying
+    @Query("UPDATE GroupMonthStats s SET " +
+            "s.paidAmount = s.paidAmount + :amount, " +
+            "s.paymentCount = s.paymentCount + :payments, " +
+            "s.paidStudentCount = s.paidStudentCount + :students, " +
+            "s.updatedAt = :now " +
+            "WHERE s.group.id = :groupId AND s.yearMonth = :yearMonth")
+    int adjust(@Param("groupId") Long groupId,
+               @Param("yearMonth") String yearMonth,
+               @Param("amount") BigDecimal amount,
+               @Param("payments") int payments,
+               @Param("students") int students,
+               @Param("now") LocalDateTime now);
+
+    // Recomputes every row from payments; rows left without payments drop to zero
+    @Modifying
+    @Query("UPDATE GroupMonthStats s SET " +
+            "s.paidAmount = COALESCE((SELECT SUM(p.amount) FROM Payment p " +
+            "WHERE p.group = s.group AND p.paidForMonth = s.yearMonth), 0), " +
+            "s.paymentCount = (SELECT COUNT(p) FROM Payment p " +
+            "WHERE p.group = s.group AND p.paidForMonth = s.yearMonth), " +
+            "s.paidStudentCount = (SELECT COUNT(DISTINCT p.student.id) FROM Payment p " +
+            "WHERE p.group = s.group AND p.paidForMonth = s.yearMonth), " +
+            "s.updatedAt = :now")
+    int recomputeAll(@Param("now") LocalDateTime now);
+
+    // Takes a student's payments out of every (group, month) row they touch; run before the payments are deleted
+    @Modifying
+    @Query("UPDATE GroupMonthStats s SET " +
+            "s.paidAmount = s.paidAmount - COALESCE((SELECT SUM(p.amount) FROM Payment p " +
+            "WHERE p.student.id = :studentId AND p.group = s.group AND p.paidForMonth = s.yearMonth), 0), " +
+            "s.paymentCount = s.paymentCount - (SELECT COUNT(p) FROM Payment p " +
+            "WHERE p.student.id = :studentId AND p.group = s.group AND p.paidForMonth = s.yearMonth), " +
+            "s.paidStudentCount = s.paidStudentCount - 1, " +
+            "s.updatedAt = :now " +
+            "WHERE EXISTS (SELECT p.id FROM Payment p " +
+            "WHERE p.student.id = :studentId AND p.group = s.group AND p.paidForMonth = s.yearMonth)")
+    int removeStudentPayments(@Param("studentId") Long studentId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM GroupMonthStats s WHERE s.group.id = :groupId")
+    int deleteByGroupId(@Param("groupId") Long groupId);
+}
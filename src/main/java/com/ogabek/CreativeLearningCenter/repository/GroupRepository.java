@@ -2,20 +2,73 @@ package com.ogabek.CreativeLearningCenter.repository;
 
 import com.ogabek.CreativeLearningCenter.entity.Group;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface GroupRepository extends JpaRepository<Group, Long> {
 
-    List<Group> findByTeacherIdOrderByNameAsc(Long teacherId);
+    boolean existsByTeacherId(Long teacherId);
 
-    List<Group> findAllByOrderByTeacherIdAscNameAsc();
+    // (groupId, studentId) of active enrollments; one row with a null studentId for a group without students,
+    // no row for an unknown group
+    @Query("SELECT g.id, sg.student.id FROM Group g LEFT JOIN g.studentGroups sg ON sg.active = true " +
+            "WHERE g.id IN :ids")
+    List<Object[]> findActiveRostersByIdIn(@Param("ids") Collection<Long> ids);
 
-    List<Group> findByTeacherId(Long teacherId);
+    // Group listings in one statement: (group, teacher, activeStudents, paid) per row. The paid sum is a
+    // correlated subquery so payments are not multiplied by a join. The teacher is selected as an entity so
+    // group.getTeacher() needs no extra load.
+    @Query("SELECT g, t, " +
+            "g.activeStudentCount, " +
+            "(SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.group = g) " +
+            "FROM Group g JOIN g.teacher t ORDER BY g.id")
+    List<Object[]> findAllWithStats();
+
+    @Query("SELECT g, t, " +
+            "g.activeStudentCount, " +
+            "(SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.group = g) " +
+            "FROM Group g JOIN g.teacher t WHERE t.id = :teacherId ORDER BY g.name")
+    List<Object[]> findByTeacherIdWithStats(@Param("teacherId") Long teacherId);
+
+    // Paid amount for one month, read from the group-month rollup
+    @Query("SELECT g, t, " +
+            "g.activeStudentCount, " +
+            "(SELECT COALESCE(SUM(s.paidAmount), 0) FROM GroupMonthStats s WHERE s.group = g AND s.yearMonth = :month) " +
+            "FROM Group g JOIN g.teacher t ORDER BY t.id, g.name")
+    List<Object[]> findAllWithMonthStatsOrderByTeacher(@Param("month") String month);
+
+    @Modifying
+    @Query("UPDATE Group g SET g.activeStudentCount = g.activeStudentCount + :delta WHERE g.id = :groupId")
+    int adjustActiveStudentCount(@Param("groupId") Long groupId, @Param("delta") int delta);
+
+    // Decrements every group the student is actively enrolled in; run before the enrollments are deleted
+    @Modifying
+    @Query("UPDATE Group g SET g.activeStudentCount = g.activeStudentCount - 1 WHERE g.id IN (" +
+            "SELECT sg.group.id FROM StudentGroup sg WHERE sg.student.id = :studentId AND sg.active = true)")
+    int decrementActiveStudentCountsOfStudent(@Param("studentId") Long studentId);
+
+    // Recounts from student_groups; only rows that drifted are written, and their number is returned
+    @Modifying
+    @Query(value = "UPDATE groups SET active_student_count = (" +
+            "SELECT COUNT(*) FROM student_groups sg WHERE sg.group_id = groups.id AND sg.active = true) " +
+            "WHERE active_student_count <> (" +
+            "SELECT COUNT(*) FROM student_groups sg WHERE sg.group_id = groups.id AND sg.active = true)",
+            nativeQuery = true)
+    int repairActiveStudentCounts();
+
+    @Query("SELECT g.id FROM Group g")
+    List<Long> findAllIds();
+
+    // Deletes the row only; dependants must already be gone (see CascadeDeletionService)
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Group g WHERE g.id = :id")
+    int deleteRowById(@Param("id") Long id);
 
     // Fetch groups with teachers eagerly loaded to avoid LazyInitializationException
     // Using LEFT JOIN FETCH to handle cases where teacher might be null
@@ -0,0 +1,43 @@
+package com.ogabek.CreativeLearningCenter.repository;
+
+import com.ogabek.CreativeLearningCenter.dto.response.GroupScheduleResponse;
+import com.ogabek.CreativeLearningCenter.entity.GroupSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GroupScheduleRepository extends JpaRepository<GroupSchedule, Long> {
+
+    // (id, groupId, teacherId, dayOfWeek, startTime, endTime, room) for ScheduleIndex
+    @Query("SELECT s.id, g.id, g.teacher.id, s.dayOfWeek, s.startTime, s.endTime, s.room " +
+            "FROM GroupSchedule s JOIN s.group g")
+    List<Object[]> findAllForIndex();
+
+    @Query("SELECT s.id, g.id, g.teacher.id, s.dayOfWeek, s.startTime, s.endTime, s.room " +
+            "FROM GroupSchedule s JOIN s.group g WHERE g.id = :groupId")
+    List<Object[]> findForIndexByGroupId(@Param("groupId") Long groupId);
+
+    // Constructor projections (GroupScheduleResponse field order); dayOfWeek is stored as text, callers sort
+    @Query("SELECT new com.ogabek.CreativeLearningCenter.dto.response.GroupScheduleResponse(" +
+            "s.id, g.id, g.name, t.id, t.fullName, s.dayOfWeek, s.startTime, s.endTime, s.room, " +
+            "s.createdAt, s.updatedAt) " +
+            "FROM GroupSchedule s JOIN s.group g JOIN g.teacher t WHERE s.id IN :ids")
+    List<GroupScheduleResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.ogabek.CreativeLearningCenter.dto.response.GroupScheduleResponse(" +
+            "s.id, g.id, g.name, t.id, t.fullName, s.dayOfWeek, s.startTime, s.endTime, s.room, " +
+            "s.createdAt, s.updatedAt) " +
+            "FROM GroupSchedule s JOIN s.group g JOIN g.teacher t WHERE g.id = :groupId")
+    List<GroupScheduleResponse> findResponsesByGroupId(@Param("groupId") Long groupId);
+
+    // Bulk delete for CascadeDeletionService
+    @Modifying
+    @Query("DELETE FROM GroupSchedule s WHERE s.group.id = :groupId")
+    int deleteByGroupId(@Param("groupId") Long groupId);
+}
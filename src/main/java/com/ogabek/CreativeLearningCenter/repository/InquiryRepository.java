@@ -1,8 +1,11 @@
 package com.ogabek.CreativeLearningCenter.repository;
 
+import com.ogabek.CreativeLearningCenter.dto.response.InquiryResponse;
 import com.ogabek.CreativeLearningCenter.entity.Inquiry;
 import com.ogabek.CreativeLearningCenter.entity.InquiryStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +16,15 @@ public interface InquiryRepository extends JpaRepository<Inquiry, Long> {
     List<Inquiry> findByStatus(InquiryStatus status);
     
     List<Inquiry> findByParentPhoneNumber(String parentPhoneNumber);
-}
\ No newline at end of file
+
+    // Constructor projections (InquiryResponse field order); rows are not tracked by the persistence context
+    @Query("SELECT new com.ogabek.CreativeLearningCenter.dto.response.InquiryResponse(" +
+            "i.id, i.fullName, i.parentName, i.parentPhoneNumber, i.interestedCourses, i.status, i.notes, " +
+            "i.createdAt, i.updatedAt) FROM Inquiry i ORDER BY i.id")
+    List<InquiryResponse> findAllResponses();
+
+    @Query("SELECT new com.ogabek.CreativeLearningCenter.dto.response.InquiryResponse(" +
+            "i.id, i.fullName, i.parentName, i.parentPhoneNumber, i.interestedCourses, i.status, i.notes, " +
+            "i.createdAt, i.updatedAt) FROM Inquiry i WHERE i.status = :status ORDER BY i.id")
+    List<InquiryResponse> findResponsesByStatus(@Param("status") InquiryStatus status);
+}
@@ -1,30 +1,61 @@
 package com.ogabek.CreativeLearningCenter.repository;
 
+import com.ogabek.CreativeLearningCenter.dto.response.PaymentResponse;
 import com.ogabek.CreativeLearningCenter.entity.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
+    @EntityGraph(attributePaths = {"student", "group"})
     List<Payment> findByStudentId(Long studentId);
 
+    @EntityGraph(attributePaths = {"student", "group"})
+    List<Payment> findByStudentIdOrderByPaidAtDesc(Long studentId);
+
     List<Payment> findByGroupId(Long groupId);
 
+    // Constructor projection (PaymentResponse field order): no managed entities, no student/group proxies
+    @Query("SELECT new com.ogabek.CreativeLearningCenter.dto.response.PaymentResponse(" +
+            "p.id, s.id, s.fullName, g.id, g.name, p.amount, p.paidForMonth, p.paidAt) " +
+            "FROM Payment p JOIN p.student s JOIN p.group g ORDER BY p.id")
+    List<PaymentResponse> findAllResponses();
+
     List<Payment> findByStudentIdAndGroupId(Long studentId, Long groupId);
 
     List<Payment> findByPaidForMonth(String paidForMonth);
     
     List<Payment> findByGroupIdAndPaidForMonth(Long groupId, String paidForMonth);
 
-    @Query("SELECT p FROM Payment p WHERE CAST(p.paidAt AS LocalDate) = :date")
-    List<Payment> findByPaidAtDate(@Param("date") LocalDate date);
+    // Half-open range on the raw column so idx_payments_paid_at can be used
+    @Query("SELECT p FROM Payment p JOIN FETCH p.student JOIN FETCH p.group " +
+            "WHERE p.paidAt >= :start AND p.paidAt < :end ORDER BY p.paidAt")
+    List<Payment> findByPaidAtRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    default List<Payment> findByPaidAtDate(LocalDate date) {
+        return findByPaidAtRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+
+    // (day, amount, count) per calendar day; only the grouping expression is computed, the filter stays sargable
+    @Query("SELECT CAST(p.paidAt AS LocalDate), SUM(p.amount), COUNT(p) FROM Payment p " +
+            "WHERE p.paidAt >= :start AND p.paidAt < :end " +
+            "GROUP BY CAST(p.paidAt AS LocalDate)")
+    List<Object[]> getDailyTotalsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     @Query("SELECT p FROM Payment p WHERE p.paidForMonth LIKE :yearPrefix%")
     List<Payment> findByPaidForMonthStartingWith(@Param("yearPrefix") String yearPrefix);
@@ -45,7 +76,13 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     boolean existsByStudentIdAndGroupIdAndPaidForMonth(Long studentId, Long groupId, String paidForMonth);
 
-    void deleteByGroupId(Long groupId);
+    @Modifying
+    @Query("DELETE FROM Payment p WHERE p.group.id = :groupId")
+    int deleteByGroupId(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query("DELETE FROM Payment p WHERE p.student.id = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
 
     // NEW METHOD - Get total payments grouped by student in one query
     @Query("SELECT p.student.id, COALESCE(SUM(p.amount), 0) " +
@@ -53,8 +90,42 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
             "GROUP BY p.student.id")
     List<Object[]> getTotalPaidGroupedByStudent();
 
+    @Query("SELECT p.student.id, COALESCE(SUM(p.amount), 0) " +
+            "FROM Payment p " +
+            "WHERE p.student.id IN :studentIds " +
+            "GROUP BY p.student.id")
+    List<Object[]> getTotalPaidGroupedByStudent(@Param("studentIds") Collection<Long> studentIds);
+
+    // (studentId, groupId, amount) for every student who paid anything for the month
+    @Query("SELECT p.student.id, p.group.id, SUM(p.amount) FROM Payment p " +
+            "WHERE p.paidForMonth = :month " +
+            "GROUP BY p.student.id, p.group.id")
+    List<Object[]> getPaidAmountsGroupedByStudentAndGroup(@Param("month") String month);
+
+    @Query("SELECT p.student.id, p.group.id, SUM(p.amount) FROM Payment p " +
+            "WHERE p.paidForMonth = :month AND p.student.id IN :studentIds " +
+            "GROUP BY p.student.id, p.group.id")
+    List<Object[]> getPaidAmountsGroupedByStudentAndGroup(@Param("month") String month,
+                                                          @Param("studentIds") Collection<Long> studentIds);
+
     @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p " +
             "WHERE p.group.id = :groupId AND p.paidForMonth = :month")
     BigDecimal getTotalPaidByGroupIdAndMonth(@Param("groupId") Long groupId,
                                              @Param("month") String month);
-}
\ No newline at end of file
+
+    @Query("SELECT COUNT(DISTINCT p.student.id) FROM Payment p " +
+            "WHERE p.paidForMonth = :month AND EXISTS (" +
+            "SELECT sg.id FROM StudentGroup sg WHERE sg.group = p.group AND sg.active = true)")
+    long countDistinctStudentsPaidInActiveGroups(@Param("month") String month);
+
+    long countByStudentIdAndGroupIdAndPaidForMonth(Long studentId, Long groupId, String paidForMonth);
+
+    // Export rows (id, student, group, amount, month, paidAt); must be consumed inside a read-only transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, s.fullName, g.name, p.amount, p.paidForMonth, p.paidAt " +
+            "FROM Payment p JOIN p.student s JOIN p.group g ORDER BY p.id")
+    Stream<Object[]> streamAllForExport();
+}
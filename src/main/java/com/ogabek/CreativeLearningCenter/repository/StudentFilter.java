@@ -0,0 +1,7 @@
+package com.ogabek.CreativeLearningCenter.repository;
+
+// Optional filters for keyset student paging; null fields are not applied.
+// paid=true keeps students with at least one active group and a payment for paidMonth in every active group,
+// paid=false keeps students with an active group that has no payment for paidMonth.
+public record StudentFilter(Long groupId, Long teacherId, Boolean paid, String paidMonth, String namePrefix) {
+}
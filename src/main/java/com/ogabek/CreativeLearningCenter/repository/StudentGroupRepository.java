@@ -2,21 +2,32 @@ package com.ogabek.CreativeLearningCenter.repository;
 
 import com.ogabek.CreativeLearningCenter.entity.Student;
 import com.ogabek.CreativeLearningCenter.entity.StudentGroup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentGroupRepository extends JpaRepository<StudentGroup, Long> {
 
+    @EntityGraph(attributePaths = {"student", "group", "group.teacher"})
     List<StudentGroup> findByStudentId(Long studentId);
 
     List<StudentGroup> findByStudentIdAndActiveTrue(Long studentId);
 
+    @Query("SELECT sg FROM StudentGroup sg JOIN FETCH sg.group g JOIN FETCH g.teacher " +
+            "WHERE sg.student.id = :studentId AND sg.active = true ORDER BY g.name")
+    List<StudentGroup> findActiveByStudentIdWithGroup(@Param("studentId") Long studentId);
+
     List<StudentGroup> findByGroupId(Long groupId);
 
     List<StudentGroup> findByGroupIdAndActiveTrue(Long groupId);
@@ -25,14 +36,40 @@ public interface StudentGroupRepository extends JpaRepository<StudentGroup, Long
 
     boolean existsByStudentIdAndGroupIdAndActiveTrue(Long studentId, Long groupId);
 
-    @Query("SELECT COUNT(sg) FROM StudentGroup sg WHERE sg.group.id = :groupId AND sg.active = true")
-    int countActiveByGroupId(@Param("groupId") Long groupId);
-
     @Query("SELECT sg.student.id FROM StudentGroup sg WHERE sg.group.id = :groupId AND sg.active = true")
     List<Long> findActiveStudentIdsByGroupId(@Param("groupId") Long groupId);
 
     @Query("SELECT sg.student FROM StudentGroup sg WHERE sg.group.id = :groupId AND sg.active = true")
     List<Student> findActiveStudentsByGroupId(@Param("groupId") Long groupId);
 
-    void deleteByGroupId(Long groupId);
+    @Query("SELECT COUNT(DISTINCT sg.student.id) FROM StudentGroup sg WHERE sg.active = true")
+    long countDistinctActiveStudents();
+
+    // Active enrollments without any payment for the given month (YYYY-MM)
+    @Query("SELECT s.id, s.fullName, s.parentName, s.parentPhoneNumber, g.id, g.name, g.monthlyFee " +
+            "FROM StudentGroup sg JOIN sg.student s JOIN sg.group g " +
+            "WHERE sg.active = true AND NOT EXISTS (" +
+            "SELECT p.id FROM Payment p WHERE p.student = s AND p.group = g AND p.paidForMonth = :month) " +
+            "ORDER BY g.id, s.id")
+    List<Object[]> findUnpaidActiveEnrollments(@Param("month") String month);
+
+    // Same rows as findUnpaidActiveEnrollments, read through a cursor for CSV export
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.id, s.fullName, s.parentName, s.parentPhoneNumber, g.id, g.name, g.monthlyFee " +
+            "FROM StudentGroup sg JOIN sg.student s JOIN sg.group g " +
+            "WHERE sg.active = true AND NOT EXISTS (" +
+            "SELECT p.id FROM Payment p WHERE p.student = s AND p.group = g AND p.paidForMonth = :month) " +
+            "ORDER BY g.id, s.id")
+    Stream<Object[]> streamUnpaidActiveEnrollments(@Param("month") String month);
+
+    @Modifying
+    @Query("DELETE FROM StudentGroup sg WHERE sg.group.id = :groupId")
+    int deleteByGroupId(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query("DELETE FROM StudentGroup sg WHERE sg.student.id = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
 }
@@ -2,14 +2,17 @@ package com.ogabek.CreativeLearningCenter.repository;
 
 import com.ogabek.CreativeLearningCenter.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
 
     Optional<Student> findBySmsLinkCode(String smsLinkCode);
 
@@ -17,6 +20,15 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     boolean existsBySmsLinkCode(String smsLinkCode);
 
+    // Deletes the row only; dependants must already be gone (see CascadeDeletionService)
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Student s WHERE s.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
+    // (smsLinkCode, id) for the given codes; used by the bulk import to resolve ids after a batch insert
+    @Query("SELECT s.smsLinkCode, s.id FROM Student s WHERE s.smsLinkCode IN :codes")
+    List<Object[]> findIdsBySmsLinkCodeIn(@Param("codes") Collection<String> codes);
+
     // NEW METHOD - Fetch all students with their groups, groups' details, and teachers in one query
     @Query("SELECT DISTINCT s FROM Student s " +
             "LEFT JOIN FETCH s.studentGroups sg " +
@@ -24,4 +36,26 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
             "LEFT JOIN FETCH g.teacher " +
             "ORDER BY s.id")
     List<Student> findAllWithGroups();
-}
\ No newline at end of file
+
+    // (id, fullName, parentName, parentPhoneNumber) for the in-memory search index
+    @Query("SELECT s.id, s.fullName, s.parentName, s.parentPhoneNumber FROM Student s")
+    List<Object[]> findAllForSearch();
+
+    // One page of students with groups and teachers; ids come from findPageIds
+    @Query("SELECT DISTINCT s FROM Student s " +
+            "LEFT JOIN FETCH s.studentGroups sg " +
+            "LEFT JOIN FETCH sg.group g " +
+            "LEFT JOIN FETCH g.teacher " +
+            "WHERE s.id IN :ids " +
+            "ORDER BY s.id")
+    List<Student> findAllWithGroupsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Active members of a group, each with all of their own enrollments, groups and teachers
+    @Query("SELECT DISTINCT s FROM Student s " +
+            "LEFT JOIN FETCH s.studentGroups sg " +
+            "LEFT JOIN FETCH sg.group g " +
+            "LEFT JOIN FETCH g.teacher " +
+            "WHERE s.id IN (SELECT m.student.id FROM StudentGroup m WHERE m.group.id = :groupId AND m.active = true) " +
+            "ORDER BY s.fullName")
+    List<Student> findActiveInGroupWithGroups(@Param("groupId") Long groupId);
+}
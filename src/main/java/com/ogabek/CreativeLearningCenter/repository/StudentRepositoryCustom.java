@@ -0,0 +1,9 @@
+package com.ogabek.CreativeLearningCenter.repository;
+
+import java.util.List;
+
+public interface StudentRepositoryCustom {
+
+    // Ids of the next page after afterId (exclusive), ascending; only predicates for set filters are added
+    List<Long> findPageIds(StudentFilter filter, Long afterId, int limit);
+}
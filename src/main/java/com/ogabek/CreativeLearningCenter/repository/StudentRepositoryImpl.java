@@ -0,0 +1,98 @@
+package com.ogabek.CreativeLearningCenter.repository;
+
+import com.ogabek.CreativeLearningCenter.entity.Payment;
+import com.ogabek.CreativeLearningCenter.entity.Student;
+import com.ogabek.CreativeLearningCenter.entity.StudentGroup;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+// Criteria-based so each filter only adds a predicate when it is set; keyset on the primary key keeps
+// every page an index range scan no matter how deep the cursor is
+public class StudentRepositoryImpl implements StudentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findPageIds(StudentFilter filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Student> student = query.from(Student.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(student.<Long>get("id"), afterId));
+        }
+        if (filter.namePrefix() != null && !filter.namePrefix().isBlank()) {
+            String pattern = escapeLike(filter.namePrefix().trim().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.like(cb.lower(student.<String>get("fullName")), pattern, '\\'));
+        }
+        if (filter.groupId() != null) {
+            predicates.add(cb.exists(activeEnrollment(query, cb, student,
+                    enrollment -> cb.equal(enrollment.get("group").get("id"), filter.groupId()))));
+        }
+        if (filter.teacherId() != null) {
+            predicates.add(cb.exists(activeEnrollment(query, cb, student,
+                    enrollment -> cb.equal(enrollment.get("group").get("teacher").get("id"), filter.teacherId()))));
+        }
+        if (filter.paid() != null) {
+            Subquery<Long> unpaidEnrollment = unpaidActiveEnrollment(query, cb, student, filter.paidMonth());
+            if (filter.paid()) {
+                predicates.add(cb.exists(activeEnrollment(query, cb, student, null)));
+                predicates.add(cb.not(cb.exists(unpaidEnrollment)));
+            } else {
+                predicates.add(cb.exists(unpaidEnrollment));
+            }
+        }
+
+        query.select(student.<Long>get("id"))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(student.<Long>get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Active enrollment of the student, optionally narrowed by an extra predicate on the enrollment
+    private Subquery<Long> activeEnrollment(CriteriaQuery<?> query, CriteriaBuilder cb, Root<Student> student,
+                                            Function<Root<StudentGroup>, Predicate> restriction) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<StudentGroup> enrollment = subquery.from(StudentGroup.class);
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(enrollment.get("student"), student));
+        predicates.add(cb.isTrue(enrollment.<Boolean>get("active")));
+        if (restriction != null) {
+            predicates.add(restriction.apply(enrollment));
+        }
+        return subquery.select(enrollment.<Long>get("id")).where(predicates.toArray(Predicate[]::new));
+    }
+
+    private Subquery<Long> unpaidActiveEnrollment(CriteriaQuery<?> query, CriteriaBuilder cb, Root<Student> student,
+                                                  String month) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<StudentGroup> enrollment = subquery.from(StudentGroup.class);
+
+        Subquery<Long> payment = subquery.subquery(Long.class);
+        Root<Payment> paymentRoot = payment.from(Payment.class);
+        payment.select(paymentRoot.<Long>get("id")).where(
+                cb.equal(paymentRoot.get("student"), student),
+                cb.equal(paymentRoot.get("group"), enrollment.get("group")),
+                cb.equal(paymentRoot.get("paidForMonth"), month));
+
+        return subquery.select(enrollment.<Long>get("id")).where(
+                cb.equal(enrollment.get("student"), student),
+                cb.isTrue(enrollment.<Boolean>get("active")),
+                cb.not(cb.exists(payment)));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -2,8 +2,24 @@ package com.ogabek.CreativeLearningCenter.repository;
 
 import com.ogabek.CreativeLearningCenter.entity.Teacher;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+
+    // (teacher, income) in one statement. Income is summed from the group-month rollup for every month
+    // matching the LIKE pattern: "%" for all time, "2025-%" for a year, "2025-03" for one month.
+    @Query("SELECT t, (SELECT COALESCE(SUM(s.paidAmount), 0) FROM GroupMonthStats s " +
+            "WHERE s.group.teacher = t AND s.yearMonth LIKE :monthPattern) " +
+            "FROM Teacher t ORDER BY t.id")
+    List<Object[]> findAllWithIncome(@Param("monthPattern") String monthPattern);
+
+    @Query("SELECT t, (SELECT COALESCE(SUM(s.paidAmount), 0) FROM GroupMonthStats s " +
+            "WHERE s.group.teacher = t AND s.yearMonth LIKE :monthPattern) " +
+            "FROM Teacher t WHERE t.id = :id")
+    List<Object[]> findByIdWithIncome(@Param("id") Long id, @Param("monthPattern") String monthPattern);
 }
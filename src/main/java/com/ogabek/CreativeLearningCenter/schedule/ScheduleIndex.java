@@ -0,0 +1,452 @@
+package com.ogabek.CreativeLearningCenter.schedule;
+
+import com.ogabek.CreativeLearningCenter.entity.GroupSchedule;
+import com.ogabek.CreativeLearningCenter.event.GroupChangedEvent;
+import com.ogabek.CreativeLearningCenter.exception.BadRequestException;
+import com.ogabek.CreativeLearningCenter.repository.GroupScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// In-memory index of weekly lesson slots (group_schedules).
+// Each teacher and each room has an interval tree of its slots keyed by minute of the week. Accepted slots of
+// one teacher or room never overlap, so a new slot can only collide with its two neighbours by start time
+// (floor and higher entry): every conflict check is O(log n). Across groups slots do overlap, so a per-weekday
+// tree ordered by start answers "running at" by walking only the starts within the longest lesson before it.
+// Writes reserve slots under the lock before commit, which keeps two concurrent requests from booking the same
+// time. Inside a transaction a change stays pending until completion: other transactions cannot change the same
+// slot, the slot's previous version keeps its time blocked for them, and a rollback restores the previous version.
+// Group changes (teacher moves, deletions) re-read the group after commit, leaving pending slots untouched.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduleIndex {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final GroupScheduleRepository groupScheduleRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Slot> slotsById = new HashMap<>();
+    private final Map<Long, Set<Long>> slotIdsByGroup = new HashMap<>();
+    private final Map<Long, NavigableMap<Integer, Slot>> byTeacher = new HashMap<>();
+    private final Map<String, NavigableMap<Integer, Slot>> byRoom = new HashMap<>();
+    private final Map<DayOfWeek, NavigableMap<Integer, List<Slot>>> byDay = new EnumMap<>(DayOfWeek.class);
+    private int longestLesson;
+    // Uncommitted changes by slot id, and every transaction with uncommitted changes
+    private final Map<Long, Pending> pendingBySlot = new HashMap<>();
+    private final Set<Pending> pendings = new HashSet<>();
+
+    // Adds or replaces the slot; throws if the teacher or the room is already busy at that time
+    public void reserve(Slot slot) {
+        lock.writeLock().lock();
+        try {
+            Pending pending = pending();
+            checkNotPending(slot.id(), pending);
+            Slot previous = slotsById.get(slot.id());
+            if (previous != null) {
+                unindex(previous);
+            }
+            try {
+                checkFree(slot, pending);
+            } catch (BadRequestException e) {
+                if (previous != null) {
+                    index(previous);
+                }
+                throw e;
+            }
+            index(slot);
+            record(pending, slot.id(), previous, slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void release(Long slotId) {
+        lock.writeLock().lock();
+        try {
+            Pending pending = pending();
+            checkNotPending(slotId, pending);
+            Slot slot = slotsById.get(slotId);
+            if (slot != null) {
+                unindex(slot);
+                record(pending, slotId, slot, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Moves all slots of a group to another teacher; throws if the new teacher is busy at any of them
+    public void reassignTeacher(Long groupId, Long teacherId) {
+        lock.writeLock().lock();
+        try {
+            List<Slot> slots = slotsOf(groupId);
+            if (slots.isEmpty() || slots.get(0).teacherId().equals(teacherId)) {
+                return;
+            }
+            Pending pending = pending();
+            slots.forEach(slot -> checkNotPending(slot.id(), pending));
+
+            slots.forEach(this::unindex);
+            List<Slot> moved = slots.stream().map(slot -> slot.withTeacher(teacherId)).toList();
+            try {
+                for (Slot slot : moved) {
+                    checkFree(slot, pending);
+                }
+            } catch (BadRequestException e) {
+                slots.forEach(this::index);
+                throw e;
+            }
+            moved.forEach(this::index);
+            for (int i = 0; i < slots.size(); i++) {
+                record(pending, slots.get(i).id(), slots.get(i), moved.get(i));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Weekdays the group has lessons on; empty when the group has no schedule yet
+    public Set<DayOfWeek> lessonDays(Long groupId) {
+        lock.readLock().lock();
+        try {
+            Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+            slotsOf(groupId).forEach(slot -> days.add(slot.dayOfWeek()));
+            return days;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of slots in progress at the given time, ordered by start
+    public List<Long> runningAt(DayOfWeek day, LocalTime time) {
+        int minute = weekMinute(day, time);
+        lock.readLock().lock();
+        try {
+            NavigableMap<Integer, List<Slot>> starts = byDay.get(day);
+            if (starts == null) {
+                return List.of();
+            }
+            List<Long> ids = new ArrayList<>();
+            for (List<Slot> slots : starts.subMap(minute - longestLesson, false, minute, true).values()) {
+                for (Slot slot : slots) {
+                    if (slot.end() > minute) {
+                        ids.add(slot.id());
+                    }
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of all slots on the given weekday, ordered by start
+    public List<Long> onDay(DayOfWeek day) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<Integer, List<Slot>> starts = byDay.get(day);
+            if (starts == null) {
+                return List.of();
+            }
+            return starts.values().stream().flatMap(List::stream).map(Slot::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of the teacher's slots over the week, ordered by start
+    public List<Long> ofTeacher(Long teacherId) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<Integer, Slot> tree = byTeacher.get(teacherId);
+            return tree == null ? List.of() : tree.values().stream().map(Slot::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> ofRoom(String room) {
+        String key = roomKey(room);
+        if (key == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            NavigableMap<Integer, Slot> tree = byRoom.get(key);
+            return tree == null ? List.of() : tree.values().stream().map(Slot::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        List<Object[]> rows = groupScheduleRepository.findAllForIndex();
+
+        lock.writeLock().lock();
+        try {
+            slotsById.clear();
+            slotIdsByGroup.clear();
+            byTeacher.clear();
+            byRoom.clear();
+            byDay.clear();
+            longestLesson = 0;
+            rows.forEach(row -> indexStored(toSlot(row)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} schedule slots in {} ms", slotsById.size(), System.currentTimeMillis() - start);
+    }
+
+    // Teacher changes and group deletions (which remove the group's rows in bulk)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupChanged(GroupChangedEvent event) {
+        refresh(event.groupId());
+    }
+
+    // Re-reads the group's committed rows; slots with an uncommitted change are left as they are
+    private void refresh(Long groupId) {
+        List<Object[]> rows = groupScheduleRepository.findForIndexByGroupId(groupId);
+
+        lock.writeLock().lock();
+        try {
+            slotsOf(groupId).stream()
+                    .filter(slot -> !pendingBySlot.containsKey(slot.id()))
+                    .forEach(this::unindex);
+            rows.stream()
+                    .map(ScheduleIndex::toSlot)
+                    .filter(slot -> !pendingBySlot.containsKey(slot.id()) && !slotsById.containsKey(slot.id()))
+                    .forEach(this::indexStored);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Rows already in the database; an overlapping row would overwrite a tree entry, so it is logged and skipped
+    private void indexStored(Slot slot) {
+        try {
+            checkFree(slot, null);
+        } catch (BadRequestException e) {
+            log.warn("Schedule slot {} of group {} not indexed, it overlaps another slot: {}",
+                    slot.id(), slot.groupId(), e.getMessage());
+            return;
+        }
+        index(slot);
+    }
+
+    // The transaction's pending changes, registered for undo on rollback; null outside a transaction
+    private Pending pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+            pendings.add(pending);
+        }
+        return pending;
+    }
+
+    private void record(Pending pending, Long slotId, Slot previous, Slot current) {
+        if (pending != null) {
+            pending.changes.add(new Change(previous, current));
+            pendingBySlot.put(slotId, pending);
+        }
+    }
+
+    private void checkNotPending(Long slotId, Pending pending) {
+        Pending owner = pendingBySlot.get(slotId);
+        if (owner != null && owner != pending) {
+            throw new BadRequestException("Schedule slot " + slotId + " is being changed by another request, "
+                    + "try again");
+        }
+    }
+
+    // Against the indexed slots, and against slots other transactions have moved or released but not committed
+    private void checkFree(Slot slot, Pending pending) {
+        checkFree(byTeacher.get(slot.teacherId()), slot, "Teacher");
+        if (slot.roomKey() != null) {
+            checkFree(byRoom.get(slot.roomKey()), slot, "Room " + slot.room());
+        }
+        for (Pending other : pendings) {
+            if (other == pending) {
+                continue;
+            }
+            for (Change change : other.changes) {
+                Slot held = change.previous();
+                if (held == null || held.start() >= slot.end() || slot.start() >= held.end()) {
+                    continue;
+                }
+                if (held.teacherId().equals(slot.teacherId())) {
+                    throw conflict("Teacher", held);
+                }
+                if (slot.roomKey() != null && slot.roomKey().equals(held.roomKey())) {
+                    throw conflict("Room " + slot.room(), held);
+                }
+            }
+        }
+    }
+
+    private static void checkFree(NavigableMap<Integer, Slot> tree, Slot slot, String owner) {
+        if (tree == null) {
+            return;
+        }
+        Map.Entry<Integer, Slot> before = tree.floorEntry(slot.start());
+        if (before != null && before.getValue().end() > slot.start()) {
+            throw conflict(owner, before.getValue());
+        }
+        Map.Entry<Integer, Slot> after = tree.higherEntry(slot.start());
+        if (after != null && after.getKey() < slot.end()) {
+            throw conflict(owner, after.getValue());
+        }
+    }
+
+    private static BadRequestException conflict(String owner, Slot other) {
+        return new BadRequestException(owner + " is already booked on " + other.dayOfWeek() + " "
+                + other.startTime() + "-" + other.endTime() + " (group " + other.groupId() + ")");
+    }
+
+    private List<Slot> slotsOf(Long groupId) {
+        Set<Long> ids = slotIdsByGroup.get(groupId);
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream().map(slotsById::get).toList();
+    }
+
+    private void index(Slot slot) {
+        slotsById.put(slot.id(), slot);
+        slotIdsByGroup.computeIfAbsent(slot.groupId(), key -> new HashSet<>()).add(slot.id());
+        byTeacher.computeIfAbsent(slot.teacherId(), key -> new TreeMap<>()).put(slot.start(), slot);
+        if (slot.roomKey() != null) {
+            byRoom.computeIfAbsent(slot.roomKey(), key -> new TreeMap<>()).put(slot.start(), slot);
+        }
+        byDay.computeIfAbsent(slot.dayOfWeek(), key -> new TreeMap<>())
+                .computeIfAbsent(slot.start(), key -> new ArrayList<>()).add(slot);
+        longestLesson = Math.max(longestLesson, slot.end() - slot.start());
+    }
+
+    private void unindex(Slot slot) {
+        slotsById.remove(slot.id());
+        removeFrom(slotIdsByGroup, slot.groupId(), ids -> ids.remove(slot.id()), Set::isEmpty);
+        removeFrom(byTeacher, slot.teacherId(), tree -> tree.remove(slot.start(), slot), Map::isEmpty);
+        if (slot.roomKey() != null) {
+            removeFrom(byRoom, slot.roomKey(), tree -> tree.remove(slot.start(), slot), Map::isEmpty);
+        }
+        NavigableMap<Integer, List<Slot>> starts = byDay.get(slot.dayOfWeek());
+        if (starts != null) {
+            removeFrom(starts, slot.start(), slots -> slots.remove(slot), List::isEmpty);
+        }
+    }
+
+    private static <K, V> void removeFrom(Map<K, V> map, K key, Consumer<V> removal, Predicate<V> isEmpty) {
+        V value = map.get(key);
+        if (value != null) {
+            removal.accept(value);
+            if (isEmpty.test(value)) {
+                map.remove(key);
+            }
+        }
+    }
+
+    private static Slot toSlot(Object[] row) {
+        return new Slot((Long) row[0], (Long) row[1], (Long) row[2], (DayOfWeek) row[3],
+                (LocalTime) row[4], (LocalTime) row[5], (String) row[6]);
+    }
+
+    private static int weekMinute(DayOfWeek day, LocalTime time) {
+        return day.ordinal() * MINUTES_PER_DAY + time.toSecondOfDay() / 60;
+    }
+
+    // Rooms compare case-insensitively; no room means no room conflicts
+    public static String roomKey(String room) {
+        return room == null || room.isBlank() ? null : room.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Changes of one transaction, in order. Rollback undoes them in reverse; commit just forgets them
+    private class Pending implements TransactionSynchronization {
+
+        private final List<Change> changes = new ArrayList<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ScheduleIndex.this);
+            lock.writeLock().lock();
+            try {
+                if (status != STATUS_COMMITTED && !changes.isEmpty()) {
+                    for (int i = changes.size() - 1; i >= 0; i--) {
+                        Change change = changes.get(i);
+                        if (change.current() != null) {
+                            unindex(change.current());
+                        }
+                        if (change.previous() != null) {
+                            index(change.previous());
+                        }
+                    }
+                    log.info("Rolled back {} schedule index changes", changes.size());
+                }
+                pendingBySlot.values().removeIf(owner -> owner == this);
+                pendings.remove(this);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // previous is null for a new slot, current is null for a released one
+    private record Change(Slot previous, Slot current) {
+    }
+
+    public record Slot(Long id, Long groupId, Long teacherId, DayOfWeek dayOfWeek,
+                       LocalTime startTime, LocalTime endTime, String room) {
+
+        // Needs group loaded; the teacher id is read from the proxy without initializing it
+        public static Slot of(GroupSchedule schedule) {
+            return new Slot(schedule.getId(), schedule.getGroup().getId(), schedule.getGroup().getTeacher().getId(),
+                    schedule.getDayOfWeek(), schedule.getStartTime(), schedule.getEndTime(), schedule.getRoom());
+        }
+
+        int start() {
+            return weekMinute(dayOfWeek, startTime);
+        }
+
+        int end() {
+            return weekMinute(dayOfWeek, endTime);
+        }
+
+        String roomKey() {
+            return ScheduleIndex.roomKey(room);
+        }
+
+        Slot withTeacher(Long teacherId) {
+            return new Slot(id, groupId, teacherId, dayOfWeek, startTime, endTime, room);
+        }
+    }
+}
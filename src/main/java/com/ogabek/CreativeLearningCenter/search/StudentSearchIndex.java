@@ -0,0 +1,366 @@
+package com.ogabek.CreativeLearningCenter.search;
+
+import com.ogabek.CreativeLearningCenter.dto.response.StudentSearchResponse;
+import com.ogabek.CreativeLearningCenter.event.StudentChangedEvent;
+import com.ogabek.CreativeLearningCenter.event.StudentCreatedEvent;
+import com.ogabek.CreativeLearningCenter.event.StudentsImportedEvent;
+import com.ogabek.CreativeLearningCenter.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory search over student name, parent name and parent phone.
+// Names are folded (TextFolding) and phones reduced to digits, then every trigram points to a posting list of
+// slots. A query intersects the posting lists of its trigrams and verifies the substring on the candidates;
+// if nothing matches exactly, candidates sharing most trigrams are returned instead (typos, missing letters).
+// Queries shorter than three characters use a sorted word-prefix index.
+// Slots only grow; updates and deletes leave dead slots that are compacted away once they pile up.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StudentSearchIndex {
+
+    private static final int MAX_LIMIT = 50;
+    private static final double FUZZY_MIN_OVERLAP = 0.6;
+
+    private final StudentRepository studentRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Entry> slots = new ArrayList<>();
+    private final Map<Long, Integer> slotByStudentId = new HashMap<>();
+    private final Map<String, IntList> trigrams = new HashMap<>();
+    private final NavigableMap<String, IntList> words = new TreeMap<>();
+    private int deadSlots;
+    // Guarded by the write lock
+    private int rebuildsInFlight;
+    private final Set<Long> touchedDuringRebuild = new HashSet<>();
+
+    public List<StudentSearchResponse> search(String query, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        String text = TextFolding.fold(query);
+        String digits = TextFolding.digits(query);
+        if (text.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Hit> hits = text.length() < 3 ? prefixHits(text, max) : substringHits(text, digits);
+            if (hits.isEmpty() && text.length() >= 4) {
+                hits = fuzzyHits(text);
+            }
+
+            return hits.stream()
+                    .sorted(Comparator.comparingDouble(Hit::score).reversed()
+                            .thenComparing(hit -> hit.entry().foldedName()))
+                    .limit(max)
+                    .map(hit -> StudentSearchResponse.builder()
+                            .id(hit.entry().id())
+                            .fullName(hit.entry().fullName())
+                            .parentName(hit.entry().parentName())
+                            .parentPhoneNumber(hit.entry().parentPhoneNumber())
+                            .score(hit.score())
+                            .build())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByStudentId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The rows are read without the lock, so a refresh applied meanwhile may be older than the snapshot or newer.
+    // Students refreshed while a rebuild is in flight are recorded and re-read under the lock after the swap.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            rebuildsInFlight++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            List<Object[]> rows = studentRepository.findAllForSearch();
+
+            lock.writeLock().lock();
+            try {
+                clear();
+                for (Object[] row : rows) {
+                    add(new Entry((Long) row[0], (String) row[1], (String) row[2], (String) row[3]));
+                }
+                reload(touchedDuringRebuild);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Indexed {} students for search in {} ms", rows.size(), System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (--rebuildsInFlight == 0) {
+                    touchedDuringRebuild.clear();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentCreated(StudentCreatedEvent event) {
+        refresh(event.studentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        refresh(event.studentId());
+    }
+
+    // One reload is cheaper than thousands of single-row refreshes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsImported(StudentsImportedEvent event) {
+        rebuild();
+    }
+
+    // Re-reads the committed row; a missing row means the student was deleted
+    private void refresh(Long studentId) {
+        Optional<Entry> entry = studentRepository.findById(studentId)
+                .map(student -> new Entry(student.getId(), student.getFullName(),
+                        student.getParentName(), student.getParentPhoneNumber()));
+
+        lock.writeLock().lock();
+        try {
+            if (rebuildsInFlight > 0) {
+                touchedDuringRebuild.add(studentId);
+            }
+            remove(studentId);
+            entry.ifPresent(this::add);
+            if (deadSlots > 1000 && deadSlots > slotByStudentId.size() / 4) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replaces the given students with their committed rows in one query; caller holds the write lock
+    private void reload(Set<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = Set.copyOf(studentIds);
+        ids.forEach(this::remove);
+        studentRepository.findAllById(ids).forEach(student -> add(new Entry(student.getId(), student.getFullName(),
+                student.getParentName(), student.getParentPhoneNumber())));
+        log.debug("Re-read {} students changed during the search index rebuild", ids.size());
+    }
+
+    private List<Hit> prefixHits(String prefix, int max) {
+        Set<Integer> seen = new HashSet<>();
+        List<Hit> hits = new ArrayList<>();
+        for (Map.Entry<String, IntList> word : words.tailMap(prefix, true).entrySet()) {
+            if (!word.getKey().startsWith(prefix) || hits.size() >= max) {
+                break;
+            }
+            IntList list = word.getValue();
+            for (int i = 0; i < list.size && hits.size() < max; i++) {
+                Entry entry = slots.get(list.values[i]);
+                if (entry != null && seen.add(list.values[i])) {
+                    hits.add(new Hit(entry, 3));
+                }
+            }
+        }
+        return hits;
+    }
+
+    private List<Hit> substringHits(String text, String digits) {
+        Map<Integer, Hit> hits = new HashMap<>();
+
+        for (int slot : intersect(trigramsOf(text))) {
+            Entry entry = slots.get(slot);
+            if (entry == null) continue;
+            if (entry.startsWithWord(text)) {
+                hits.put(slot, new Hit(entry, 3));
+            } else if (entry.foldedName().contains(text) || entry.foldedParentName().contains(text)) {
+                hits.put(slot, new Hit(entry, 2));
+            }
+        }
+
+        if (digits.length() >= 3) {
+            for (int slot : intersect(trigramsOf(digits))) {
+                Entry entry = slots.get(slot);
+                if (entry != null && entry.phoneDigits().contains(digits)) {
+                    hits.putIfAbsent(slot, new Hit(entry, 2));
+                }
+            }
+        }
+        return new ArrayList<>(hits.values());
+    }
+
+    private List<Hit> fuzzyHits(String text) {
+        Set<String> queryTrigrams = trigramsOf(text);
+        Map<Integer, Integer> overlap = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            IntList list = trigrams.get(trigram);
+            if (list == null) continue;
+            for (int i = 0; i < list.size; i++) {
+                overlap.merge(list.values[i], 1, Integer::sum);
+            }
+        }
+
+        int required = (int) Math.ceil(queryTrigrams.size() * FUZZY_MIN_OVERLAP);
+        List<Hit> hits = new ArrayList<>();
+        overlap.forEach((slot, count) -> {
+            Entry entry = slots.get(slot);
+            if (entry != null && count >= required) {
+                hits.add(new Hit(entry, (double) count / queryTrigrams.size()));
+            }
+        });
+        return hits;
+    }
+
+    // Slots present in every posting list; lists are sorted because slots are only ever appended
+    private int[] intersect(Set<String> queryTrigrams) {
+        List<IntList> lists = new ArrayList<>();
+        for (String trigram : queryTrigrams) {
+            IntList list = trigrams.get(trigram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        if (lists.isEmpty()) {
+            return new int[0];
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        int[] result = Arrays.copyOf(lists.get(0).values, lists.get(0).size);
+        int resultSize = result.length;
+        for (int l = 1; l < lists.size() && resultSize > 0; l++) {
+            IntList other = lists.get(l);
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < resultSize; i++) {
+                j = lowerBound(other.values, j, other.size, result[i]);
+                if (j < other.size && other.values[j] == result[i]) {
+                    result[kept++] = result[i];
+                }
+            }
+            resultSize = kept;
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    private void add(Entry entry) {
+        int slot = slots.size();
+        slots.add(entry);
+        slotByStudentId.put(entry.id(), slot);
+
+        Set<String> entryTrigrams = new HashSet<>();
+        entryTrigrams.addAll(trigramsOf(entry.foldedName()));
+        entryTrigrams.addAll(trigramsOf(entry.foldedParentName()));
+        entryTrigrams.addAll(trigramsOf(entry.phoneDigits()));
+        for (String trigram : entryTrigrams) {
+            trigrams.computeIfAbsent(trigram, key -> new IntList()).add(slot);
+        }
+
+        Set<String> entryWords = new HashSet<>();
+        entryWords.addAll(Arrays.asList(entry.foldedName().split(" ")));
+        entryWords.addAll(Arrays.asList(entry.foldedParentName().split(" ")));
+        entryWords.add(entry.phoneDigits());
+        for (String word : entryWords) {
+            if (!word.isEmpty()) {
+                words.computeIfAbsent(word, key -> new IntList()).add(slot);
+            }
+        }
+    }
+
+    private void remove(Long studentId) {
+        Integer slot = slotByStudentId.remove(studentId);
+        if (slot != null) {
+            slots.set(slot, null);
+            deadSlots++;
+        }
+    }
+
+    private void compact() {
+        List<Entry> live = slots.stream().filter(Objects::nonNull).toList();
+        clear();
+        live.forEach(this::add);
+        log.debug("Compacted student search index to {} entries", live.size());
+    }
+
+    private void clear() {
+        slots.clear();
+        slotByStudentId.clear();
+        trigrams.clear();
+        words.clear();
+        deadSlots = 0;
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(text.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static int lowerBound(int[] values, int from, int to, int key) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Entry(Long id, String fullName, String parentName, String parentPhoneNumber,
+                         String foldedName, String foldedParentName, String phoneDigits) {
+
+        Entry(Long id, String fullName, String parentName, String parentPhoneNumber) {
+            this(id, fullName, parentName, parentPhoneNumber,
+                    TextFolding.fold(fullName), TextFolding.fold(parentName), TextFolding.digits(parentPhoneNumber));
+        }
+
+        boolean startsWithWord(String text) {
+            return foldedName.startsWith(text) || foldedName.contains(" " + text)
+                    || foldedParentName.startsWith(text) || foldedParentName.contains(" " + text);
+        }
+    }
+
+    private record Hit(Entry entry, double score) {
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ogabek.CreativeLearningCenter.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Per-client-IP limit on the unauthenticated /api/public/** endpoints, where the smsLinkCode is the only
+// credential. Fixed windows: counters are dropped when a new window starts, so memory is bounded by the
+// number of distinct clients within one window. Behind a proxy, set server.forward-headers-strategy so
+// getRemoteAddr() is the client address.
+@Component
+@Slf4j
+public class PublicRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String PUBLIC_PATH = "/api/public/";
+
+    private final int maxRequests;
+    private final long windowMillis;
+    private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+    private volatile long currentWindow;
+
+    public PublicRateLimitFilter(
+            @Value("${public.rate-limit.max-requests:60}") int maxRequests,
+            @Value("${public.rate-limit.window:PT1M}") Duration window) {
+        this.maxRequests = maxRequests;
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(PUBLIC_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        long window = now / windowMillis;
+        if (window != currentWindow) {
+            synchronized (this) {
+                if (window != currentWindow) {
+                    counts.clear();
+                    currentWindow = window;
+                }
+            }
+        }
+
+        String client = request.getRemoteAddr();
+        if (counts.computeIfAbsent(client, key -> new AtomicInteger()).incrementAndGet() <= maxRequests) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.warn("Rate limit exceeded for {} on {}", client, request.getRequestURI());
+        long retryAfterSeconds = Math.max(1, ((window + 1) * windowMillis - now + 999) / 1000);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        String json = String.format(
+                "{\"status\":%d,\"error\":\"Too Many Requests\",\"message\":\"Too many requests, try again later\",\"path\":\"%s\",\"timestamp\":\"%s\"}",
+                429,
+                request.getRequestURI(),
+                LocalDateTime.now()
+        );
+
+        response.getOutputStream().print(json);
+    }
+}
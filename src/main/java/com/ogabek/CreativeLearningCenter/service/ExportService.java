@@ -0,0 +1,11 @@
+package com.ogabek.CreativeLearningCenter.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    void writePaymentsCsv(OutputStream out) throws IOException;
+
+    void writeUnpaidStudentsCsv(int year, int month, OutputStream out) throws IOException;
+}
@@ -2,6 +2,9 @@ package com.ogabek.CreativeLearningCenter.service;
 
 import com.ogabek.CreativeLearningCenter.dto.response.ReportResponse.*;
 
+import java.time.LocalDate;
+import java.util.List;
+
 public interface ReportService {
 
     DailyReport getDailyReport(int year, int month, int day);
@@ -9,4 +12,6 @@ public interface ReportService {
     MonthlyReport getMonthlyReport(int year, int month);
 
     YearlyReport getYearlyReport(int year);
+
+    List<DailySeriesEntry> getDailySeries(LocalDate from, LocalDate to);
 }
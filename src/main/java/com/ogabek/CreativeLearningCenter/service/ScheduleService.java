@@ -0,0 +1,27 @@
+package com.ogabek.CreativeLearningCenter.service;
+
+import com.ogabek.CreativeLearningCenter.dto.request.GroupScheduleRequest;
+import com.ogabek.CreativeLearningCenter.dto.response.GroupScheduleResponse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ScheduleService {
+
+    GroupScheduleResponse create(GroupScheduleRequest request);
+
+    GroupScheduleResponse update(Long id, GroupScheduleRequest request);
+
+    void delete(Long id);
+
+    List<GroupScheduleResponse> getByGroupId(Long groupId);
+
+    List<GroupScheduleResponse> getByTeacherId(Long teacherId);
+
+    List<GroupScheduleResponse> getByRoom(String room);
+
+    List<GroupScheduleResponse> getRunningAt(LocalDateTime at);
+
+    List<GroupScheduleResponse> getByDate(LocalDate date);
+}
@@ -1,7 +1,10 @@
 package com.ogabek.CreativeLearningCenter.service;
 
 import com.ogabek.CreativeLearningCenter.dto.request.StudentRequest;
+import com.ogabek.CreativeLearningCenter.dto.response.StudentPageResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.StudentProfileResponse;
 import com.ogabek.CreativeLearningCenter.dto.response.StudentResponse;
+import com.ogabek.CreativeLearningCenter.repository.StudentFilter;
 
 import java.util.List;
 
@@ -11,10 +14,14 @@ public interface StudentService {
 
     StudentResponse getById(Long id);
 
+    StudentProfileResponse getProfile(Long id);
+
     List<StudentResponse> getAll();
 
     List<StudentResponse> getByGroupId(Long groupId, Integer year, Integer month);
 
+    StudentPageResponse getPage(StudentFilter filter, Long cursor, int size);
+
     StudentResponse update(Long id, StudentRequest request);
     
     void delete(Long id);
@@ -9,9 +9,9 @@ public interface TeacherService {
 
     TeacherResponse create(TeacherRequest request);
 
-    TeacherResponse getById(Long id);
+    TeacherResponse getById(Long id, Integer year, Integer month);
 
-    List<TeacherResponse> getAll();
+    List<TeacherResponse> getAll(Integer year, Integer month);
 
     TeacherResponse update(Long id, TeacherRequest request);
 
@@ -0,0 +1,70 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import com.ogabek.CreativeLearningCenter.dto.response.RebuildResponse;
+import com.ogabek.CreativeLearningCenter.event.RollupRebuiltEvent;
+import com.ogabek.CreativeLearningCenter.repository.GroupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Maintains groups.active_student_count. Every enrollment change applies a relative UPDATE in the same
+// transaction, so concurrent enrollments never lose an increment. The repair recounts from student_groups
+// and fixes drift left by writes that bypass the services (manual SQL, demo data).
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ActiveStudentCountService {
+
+    private final GroupRepository groupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void enrolled(Long groupId) {
+        groupRepository.adjustActiveStudentCount(groupId, 1);
+    }
+
+    public void left(Long groupId) {
+        groupRepository.adjustActiveStudentCount(groupId, -1);
+    }
+
+    public void adjust(Long groupId, int delta) {
+        groupRepository.adjustActiveStudentCount(groupId, delta);
+    }
+
+    // Must be called before the student's enrollments are deleted
+    public void studentRemoved(Long studentId) {
+        groupRepository.decrementActiveStudentCountsOfStudent(studentId);
+    }
+
+    public RebuildResponse repair() {
+        long start = System.currentTimeMillis();
+        int fixed = groupRepository.repairActiveStudentCounts();
+        long elapsed = System.currentTimeMillis() - start;
+
+        if (fixed > 0) {
+            log.warn("Repaired active student count of {} groups", fixed);
+            // Cached reports hold expected revenue and student counts computed from the drifted values
+            eventPublisher.publishEvent(new RollupRebuiltEvent("groups.active_student_count"));
+        } else {
+            log.debug("Active student counts are consistent");
+        }
+
+        return RebuildResponse.builder()
+                .target("groups.active_student_count")
+                .rows(fixed)
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    // On start-up (demo data is inserted without the services) and nightly
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${groups.active-count.repair-cron:0 30 3 * * *}")
+    public void scheduledRepair() {
+        repair();
+    }
+}
@@ -0,0 +1,206 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import com.ogabek.CreativeLearningCenter.config.SqlDialect;
+import com.ogabek.CreativeLearningCenter.dto.response.AttendanceSheetResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.AttendanceSheetResponse.StudentRow;
+import com.ogabek.CreativeLearningCenter.dto.response.RebuildResponse;
+import com.ogabek.CreativeLearningCenter.entity.Attendance;
+import com.ogabek.CreativeLearningCenter.entity.AttendanceStatus;
+import com.ogabek.CreativeLearningCenter.event.RollupRebuiltEvent;
+import com.ogabek.CreativeLearningCenter.exception.ResourceNotFoundException;
+import com.ogabek.CreativeLearningCenter.repository.AttendanceMonthRepository;
+import com.ogabek.CreativeLearningCenter.repository.AttendanceRepository;
+import com.ogabek.CreativeLearningCenter.repository.GroupRepository;
+import com.ogabek.CreativeLearningCenter.util.AttendanceBits;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+// Maintains attendance_months, the bitset form of the attendances table. Writes go to both tables in the
+// same transaction; monthly sheets and report counts read the bitsets.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class AttendanceMonthService {
+
+    private static final int BATCH_SIZE = 500;
+
+    // present_mask keeps its bits outside the delta's recorded days and takes the delta's bits inside them
+    private static final String UPSERT_POSTGRES =
+            "INSERT INTO attendance_months (group_id, student_id, year_month, present_mask, recorded_mask, version, " +
+            "updated_at) VALUES (?, ?, ?, ?, ?, 0, ?) " +
+            "ON CONFLICT (group_id, student_id, year_month) DO UPDATE SET " +
+            "present_mask = (attendance_months.present_mask & ~EXCLUDED.recorded_mask) | EXCLUDED.present_mask, " +
+            "recorded_mask = attendance_months.recorded_mask | EXCLUDED.recorded_mask, " +
+            "version = attendance_months.version + 1, updated_at = EXCLUDED.updated_at";
+    private static final String UPSERT_H2 =
+            "MERGE INTO attendance_months t USING (SELECT CAST(? AS BIGINT) AS group_id, " +
+            "CAST(? AS BIGINT) AS student_id, CAST(? AS VARCHAR(7)) AS year_month, " +
+            "CAST(? AS INTEGER) AS present_mask, CAST(? AS INTEGER) AS recorded_mask, " +
+            "CAST(? AS TIMESTAMP) AS updated_at) s " +
+            "ON t.group_id = s.group_id AND t.student_id = s.student_id AND t.year_month = s.year_month " +
+            "WHEN MATCHED THEN UPDATE SET " +
+            "present_mask = BITOR(BITAND(t.present_mask, BITNOT(s.recorded_mask)), s.present_mask), " +
+            "recorded_mask = BITOR(t.recorded_mask, s.recorded_mask), " +
+            "version = t.version + 1, updated_at = s.updated_at " +
+            "WHEN NOT MATCHED THEN INSERT (group_id, student_id, year_month, present_mask, recorded_mask, version, " +
+            "updated_at) VALUES (s.group_id, s.student_id, s.year_month, s.present_mask, s.recorded_mask, 0, " +
+            "s.updated_at)";
+
+    // Keeps attendance writers out while rebuild() recomputes; they wait on their upsert and apply afterwards
+    private static final String LOCK_POSTGRES = "LOCK TABLE attendance_months IN EXCLUSIVE MODE";
+    private static final String LOCK_H2 = "SELECT id FROM attendance_months FOR UPDATE";
+    private static final String DELETE_ALL = "DELETE FROM attendance_months";
+
+    // Bit (day - 1) per record, OR-ed per (group, student, month); the aggregate name is filled in per dialect
+    private static final String DAY_BIT = "CAST(POWER(2, EXTRACT(DAY FROM a.date) - 1) AS INTEGER)";
+    private static final String INSERT_FROM_ATTENDANCES =
+            "INSERT INTO attendance_months (group_id, student_id, year_month, present_mask, recorded_mask, version, " +
+            "updated_at) SELECT a.group_id, a.student_id, TO_CHAR(a.date, 'YYYY-MM'), " +
+            "%s(CASE WHEN a.status = 'PRESENT' THEN " + DAY_BIT + " ELSE 0 END), %s(" + DAY_BIT + "), 0, ? " +
+            "FROM attendances a GROUP BY a.group_id, a.student_id, TO_CHAR(a.date, 'YYYY-MM')";
+
+    private final AttendanceMonthRepository attendanceMonthRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final GroupRepository groupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect sqlDialect;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Applies saved attendance records
+    public void record(List<Attendance> attendances) {
+        recordMarks(attendances.stream()
+                .map(a -> new Mark(a.getGroup().getId(), a.getStudent().getId(), a.getDate(), a.getStatus()))
+                .toList());
+    }
+
+    public void record(Attendance attendance) {
+        record(List.of(attendance));
+    }
+
+    // Same as record() for rows written without entities (JDBC batches, bulk updates). Marks are folded into
+    // one (present, recorded) delta per row and applied with an atomic upsert that ORs the bits in SQL, so
+    // concurrent writers for the same row neither collide on insert nor overwrite each other's days.
+    // The upserts go out as JDBC batches; one delta per row also keeps keys unique within a batch.
+    public void recordMarks(List<Mark> marks) {
+        Map<MonthKey, int[]> deltas = new LinkedHashMap<>();
+        for (Mark mark : marks) {
+            int[] delta = deltas.computeIfAbsent(new MonthKey(mark.groupId(), mark.studentId(),
+                    AttendanceBits.yearMonth(mark.date())), key -> new int[2]);
+            int day = mark.date().getDayOfMonth();
+            delta[0] = AttendanceBits.set(delta[0], day, mark.status() == AttendanceStatus.PRESENT);
+            delta[1] = AttendanceBits.set(delta[1], day, true);
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(sqlDialect.pick(UPSERT_POSTGRES, UPSERT_H2), List.copyOf(deltas.entrySet()),
+                BATCH_SIZE, (ps, delta) -> {
+                    ps.setLong(1, delta.getKey().groupId());
+                    ps.setLong(2, delta.getKey().studentId());
+                    ps.setString(3, delta.getKey().yearMonth());
+                    ps.setInt(4, delta.getValue()[0]);
+                    ps.setInt(5, delta.getValue()[1]);
+                    ps.setTimestamp(6, now);
+                });
+    }
+
+    @Transactional(readOnly = true)
+    public AttendanceSheetResponse getSheet(Long groupId, int year, int month) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResourceNotFoundException("Group", groupId);
+        }
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12");
+        }
+
+        YearMonth yearMonth = YearMonth.of(year, month);
+        List<StudentRow> students = attendanceMonthRepository
+                .findSheetRows(groupId, AttendanceBits.yearMonth(yearMonth.atDay(1))).stream()
+                .map(row -> {
+                    int present = row.getPresentMask() & row.getRecordedMask();
+                    int absent = row.getRecordedMask() & ~row.getPresentMask();
+                    return StudentRow.builder()
+                            .studentId(row.getStudent().getId())
+                            .studentName(row.getStudent().getFullName())
+                            .presentDays(AttendanceBits.days(present))
+                            .absentDays(AttendanceBits.days(absent))
+                            .presentCount(Integer.bitCount(present))
+                            .absentCount(Integer.bitCount(absent))
+                            .build();
+                })
+                .toList();
+
+        return AttendanceSheetResponse.builder()
+                .groupId(groupId)
+                .year(year)
+                .month(month)
+                .daysInMonth(yearMonth.lengthOfMonth())
+                .students(students)
+                .build();
+    }
+
+    public int deleteByGroup(Long groupId) {
+        return attendanceMonthRepository.deleteByGroupId(groupId);
+    }
+
+    public int deleteByStudent(Long studentId) {
+        return attendanceMonthRepository.deleteByStudentId(studentId);
+    }
+
+    // Migration from the attendances table; also usable as a repair. Runs under a table lock, so attendance writes
+    // either commit before it (and are read back) or wait on their upsert and apply their delta afterwards.
+    // The masks are aggregated in SQL and written with one INSERT ... SELECT.
+    public RebuildResponse rebuild() {
+        long start = System.currentTimeMillis();
+        log.info("Rebuilding attendance months from attendance records");
+
+        if (sqlDialect.isPostgres()) {
+            jdbcTemplate.execute(LOCK_POSTGRES);
+        } else {
+            jdbcTemplate.queryForList(LOCK_H2);
+        }
+        jdbcTemplate.update(DELETE_ALL);
+        String aggregate = sqlDialect.pick("BIT_OR", "BIT_OR_AGG");
+        int rows = jdbcTemplate.update(INSERT_FROM_ATTENDANCES.formatted(aggregate, aggregate),
+                Timestamp.valueOf(LocalDateTime.now()));
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Rebuilt {} attendance month rows in {} ms", rows, elapsed);
+        eventPublisher.publishEvent(new RollupRebuiltEvent("attendance_months"));
+
+        return RebuildResponse.builder()
+                .target("attendance_months")
+                .rows(rows)
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    // Backfill on first start after deployment (or after demo data is loaded)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (attendanceMonthRepository.count() == 0 && attendanceRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    public record Mark(Long groupId, Long studentId, LocalDate date, AttendanceStatus status) {
+    }
+
+    private record MonthKey(Long groupId, Long studentId, String yearMonth) {
+    }
+}
@@ -7,6 +7,7 @@ import com.ogabek.CreativeLearningCenter.entity.Attendance;
 import com.ogabek.CreativeLearningCenter.entity.AttendanceStatus;
 import com.ogabek.CreativeLearningCenter.entity.Group;
 import com.ogabek.CreativeLearningCenter.entity.Student;
+import com.ogabek.CreativeLearningCenter.event.AttendanceChangedEvent;
 import com.ogabek.CreativeLearningCenter.exception.BadRequestException;
 import com.ogabek.CreativeLearningCenter.exception.ResourceNotFoundException;
 import com.ogabek.CreativeLearningCenter.mapper.AttendanceMapper;
@@ -14,12 +15,15 @@ import com.ogabek.CreativeLearningCenter.repository.AttendanceRepository;
 import com.ogabek.CreativeLearningCenter.repository.GroupRepository;
 import com.ogabek.CreativeLearningCenter.repository.StudentGroupRepository;
 import com.ogabek.CreativeLearningCenter.repository.StudentRepository;
+import com.ogabek.CreativeLearningCenter.schedule.ScheduleIndex;
 import com.ogabek.CreativeLearningCenter.service.AttendanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -36,7 +40,10 @@ public class AttendanceServiceImpl implements AttendanceService {
     private final GroupRepository groupRepository;
     private final StudentRepository studentRepository;
     private final StudentGroupRepository studentGroupRepository;
+    private final AttendanceMonthService attendanceMonthService;
+    private final ScheduleIndex scheduleIndex;
     private final AttendanceMapper attendanceMapper;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public List<AttendanceResponse> createForGroup(AttendanceRequest request) {
@@ -45,6 +52,13 @@ public class AttendanceServiceImpl implements AttendanceService {
         Group group = groupRepository.findById(request.getGroupId())
                 .orElseThrow(() -> new ResourceNotFoundException("Group", request.getGroupId()));
         
+        // Groups without a schedule accept any date
+        Set<DayOfWeek> lessonDays = scheduleIndex.lessonDays(group.getId());
+        if (!lessonDays.isEmpty() && !lessonDays.contains(request.getDate().getDayOfWeek())) {
+            throw new BadRequestException("Group has no lesson on " + request.getDate().getDayOfWeek()
+                    + "; lesson days are " + lessonDays);
+        }
+        
         if (attendanceRepository.existsByGroupIdAndDate(request.getGroupId(), request.getDate())) {
             throw new BadRequestException("Attendance already exists for this group and date");
         }
@@ -71,7 +85,10 @@ public class AttendanceServiceImpl implements AttendanceService {
         }
         
         attendances = attendanceRepository.saveAll(attendances);
+        attendanceMonthService.record(attendances);
         log.info("Created {} attendance records for group {}", attendances.size(), request.getGroupId());
+        eventPublisher.publishEvent(new AttendanceChangedEvent(group.getId(), request.getDate(),
+                students.stream().map(Student::getId).toList()));
         
         return attendances.stream()
                 .map(attendanceMapper::toResponse)
@@ -100,9 +117,7 @@ public class AttendanceServiceImpl implements AttendanceService {
     @Override
     @Transactional(readOnly = true)
     public List<AttendanceResponse> getByMonth(Integer year, Integer month) {
-        return attendanceRepository.findByMonth(year, month).stream()
-                .map(attendanceMapper::toResponse)
-                .toList();
+        return attendanceRepository.findResponsesByMonth(year, month);
     }
     
     @Override
@@ -158,6 +173,9 @@ public class AttendanceServiceImpl implements AttendanceService {
         Attendance attendance = findAttendanceById(id);
         attendance.setStatus(request.getStatus());
         attendance = attendanceRepository.save(attendance);
+        attendanceMonthService.record(attendance);
+        eventPublisher.publishEvent(new AttendanceChangedEvent(attendance.getGroup().getId(),
+                attendance.getDate(), List.of(attendance.getStudent().getId())));
         
         return attendanceMapper.toResponse(attendance);
     }
@@ -0,0 +1,270 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import com.ogabek.CreativeLearningCenter.dto.request.AttendanceBatchUpdateRequest;
+import com.ogabek.CreativeLearningCenter.dto.request.AttendanceBatchUpdateRequest.Item;
+import com.ogabek.CreativeLearningCenter.dto.request.AttendanceRequest;
+import com.ogabek.CreativeLearningCenter.dto.request.BulkAttendanceRequest;
+import com.ogabek.CreativeLearningCenter.dto.response.AttendanceResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.BulkAttendanceResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.BulkAttendanceResponse.EntryResult;
+import com.ogabek.CreativeLearningCenter.entity.AttendanceStatus;
+import com.ogabek.CreativeLearningCenter.event.AttendanceChangedEvent;
+import com.ogabek.CreativeLearningCenter.exception.BadRequestException;
+import com.ogabek.CreativeLearningCenter.exception.ResourceNotFoundException;
+import com.ogabek.CreativeLearningCenter.repository.AttendanceRepository;
+import com.ogabek.CreativeLearningCenter.repository.GroupRepository;
+import com.ogabek.CreativeLearningCenter.schedule.ScheduleIndex;
+import com.ogabek.CreativeLearningCenter.service.impl.AttendanceMonthService.Mark;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Attendance for many groups and dates in one request. The rosters of all groups come from one query and the
+// (group, date) pairs that already have attendance from another; valid entries are inserted in JDBC batches
+// and applied to attendance_months, invalid entries are reported and skipped. All in one transaction.
+// Also applies batched status corrections (updateStatuses).
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class BulkAttendanceService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_ATTENDANCE =
+            "INSERT INTO attendances (date, student_id, group_id, status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GroupRepository groupRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceMonthService attendanceMonthService;
+    private final ScheduleIndex scheduleIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BulkAttendanceResponse create(BulkAttendanceRequest request) {
+        long start = System.currentTimeMillis();
+        List<AttendanceRequest> entries = request.getEntries();
+        Set<Long> groupIds = entries.stream().map(AttendanceRequest::getGroupId).collect(Collectors.toSet());
+        Set<LocalDate> dates = entries.stream().map(AttendanceRequest::getDate).collect(Collectors.toSet());
+
+        Map<Long, Set<Long>> rosters = new HashMap<>();
+        for (Object[] row : groupRepository.findActiveRostersByIdIn(groupIds)) {
+            Set<Long> roster = rosters.computeIfAbsent((Long) row[0], id -> new LinkedHashSet<>());
+            if (row[1] != null) {
+                roster.add((Long) row[1]);
+            }
+        }
+        Set<GroupDate> recorded = attendanceRepository.findRecordedGroupDates(groupIds, dates).stream()
+                .map(row -> new GroupDate((Long) row[0], (LocalDate) row[1]))
+                .collect(Collectors.toSet());
+
+        List<Mark> marks = new ArrayList<>();
+        List<EntryResult> results = new ArrayList<>(entries.size());
+        List<AttendanceChangedEvent> events = new ArrayList<>();
+        Set<GroupDate> seen = new HashSet<>();
+
+        for (AttendanceRequest entry : entries) {
+            GroupDate key = new GroupDate(entry.getGroupId(), entry.getDate());
+            Set<Long> roster = rosters.get(entry.getGroupId());
+            Set<Long> absentIds = entry.getAbsentStudentIds() != null
+                    ? new HashSet<>(entry.getAbsentStudentIds())
+                    : Set.of();
+
+            String error = validate(key, roster, absentIds, recorded, seen);
+            if (error != null) {
+                results.add(EntryResult.builder()
+                        .groupId(entry.getGroupId())
+                        .date(entry.getDate())
+                        .created(false)
+                        .message(error)
+                        .build());
+                continue;
+            }
+
+            for (Long studentId : roster) {
+                AttendanceStatus status = absentIds.contains(studentId)
+                        ? AttendanceStatus.ABSENT
+                        : AttendanceStatus.PRESENT;
+                marks.add(new Mark(entry.getGroupId(), studentId, entry.getDate(), status));
+            }
+            results.add(EntryResult.builder()
+                    .groupId(entry.getGroupId())
+                    .date(entry.getDate())
+                    .created(true)
+                    .present(roster.size() - absentIds.size())
+                    .absent(absentIds.size())
+                    .build());
+            events.add(new AttendanceChangedEvent(entry.getGroupId(), entry.getDate(), List.copyOf(roster)));
+        }
+
+        insert(marks);
+        attendanceMonthService.recordMarks(marks);
+        events.forEach(eventPublisher::publishEvent);
+
+        int created = events.size();
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Bulk attendance: {} of {} entries created, {} records in {} ms",
+                created, entries.size(), marks.size(), elapsed);
+
+        return BulkAttendanceResponse.builder()
+                .entries(entries.size())
+                .created(created)
+                .failed(entries.size() - created)
+                .records(marks.size())
+                .results(results)
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    // Status corrections for many records. Records are resolved with at most two queries (by id, and by
+    // group + date for items given as studentId + groupId + date). Only rows whose status changes are written,
+    // with one UPDATE ... WHERE id IN per target status. The result is read back with one projection query.
+    public List<AttendanceResponse> updateStatuses(AttendanceBatchUpdateRequest request) {
+        List<Item> items = request.getItems();
+        Set<Long> ids = new HashSet<>();
+        List<Item> naturalItems = new ArrayList<>();
+        for (Item item : items) {
+            if (item.getId() != null) {
+                ids.add(item.getId());
+            } else if (item.getStudentId() != null && item.getGroupId() != null && item.getDate() != null) {
+                naturalItems.add(item);
+            } else {
+                throw new BadRequestException("Each item needs an id, or a studentId, groupId and date");
+            }
+        }
+
+        Map<Long, Row> rows = new HashMap<>();
+        if (!ids.isEmpty()) {
+            attendanceRepository.findKeysByIdIn(ids).forEach(tuple -> {
+                Row row = Row.of(tuple);
+                rows.put(row.id(), row);
+            });
+        }
+        Map<NaturalKey, Row> rowsByNaturalKey = new HashMap<>();
+        if (!naturalItems.isEmpty()) {
+            Set<Long> groupIds = naturalItems.stream().map(Item::getGroupId).collect(Collectors.toSet());
+            Set<LocalDate> dates = naturalItems.stream().map(Item::getDate).collect(Collectors.toSet());
+            attendanceRepository.findKeysByGroupIdInAndDateIn(groupIds, dates).forEach(tuple -> {
+                Row row = Row.of(tuple);
+                rowsByNaturalKey.put(new NaturalKey(row.studentId(), row.groupId(), row.date()), row);
+                rows.put(row.id(), row);
+            });
+        }
+
+        Map<Long, AttendanceStatus> targets = new LinkedHashMap<>();
+        for (Item item : items) {
+            Long id = resolve(item, rows, rowsByNaturalKey);
+            AttendanceStatus previous = targets.put(id, item.getStatus());
+            if (previous != null && previous != item.getStatus()) {
+                throw new BadRequestException("Conflicting statuses for attendance " + id);
+            }
+        }
+
+        Map<AttendanceStatus, List<Long>> changes = new EnumMap<>(AttendanceStatus.class);
+        List<Mark> marks = new ArrayList<>();
+        targets.forEach((id, status) -> {
+            Row row = rows.get(id);
+            if (row.status() != status) {
+                changes.computeIfAbsent(status, key -> new ArrayList<>()).add(id);
+                marks.add(new Mark(row.groupId(), row.studentId(), row.date(), status));
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        changes.forEach((status, changedIds) -> attendanceRepository.updateStatusByIdIn(changedIds, status, now));
+        if (!marks.isEmpty()) {
+            attendanceMonthService.recordMarks(marks);
+            marks.stream()
+                    .collect(Collectors.groupingBy(mark -> new GroupDate(mark.groupId(), mark.date()),
+                            Collectors.mapping(Mark::studentId, Collectors.toList())))
+                    .forEach((key, studentIds) -> eventPublisher.publishEvent(
+                            new AttendanceChangedEvent(key.groupId(), key.date(), studentIds)));
+        }
+        log.info("Batch attendance update: {} records, {} changed", targets.size(), marks.size());
+
+        return attendanceRepository.findResponsesByIdIn(targets.keySet());
+    }
+
+    private static Long resolve(Item item, Map<Long, Row> rows, Map<NaturalKey, Row> rowsByNaturalKey) {
+        if (item.getId() != null) {
+            if (!rows.containsKey(item.getId())) {
+                throw new ResourceNotFoundException("Attendance", item.getId());
+            }
+            return item.getId();
+        }
+        Row row = rowsByNaturalKey.get(new NaturalKey(item.getStudentId(), item.getGroupId(), item.getDate()));
+        if (row == null) {
+            throw new ResourceNotFoundException("Attendance not found for student " + item.getStudentId()
+                    + " in group " + item.getGroupId() + " on " + item.getDate());
+        }
+        return row.id();
+    }
+
+    // Same rules as AttendanceServiceImpl.createForGroup, plus duplicate entries and unknown absent students
+    private String validate(GroupDate key, Set<Long> roster, Set<Long> absentIds,
+                            Set<GroupDate> recorded, Set<GroupDate> seen) {
+        if (roster == null) {
+            return "Group not found with id: " + key.groupId();
+        }
+        if (!seen.add(key)) {
+            return "Duplicate entry for this group and date";
+        }
+        if (recorded.contains(key)) {
+            return "Attendance already exists for this group and date";
+        }
+        Set<DayOfWeek> lessonDays = scheduleIndex.lessonDays(key.groupId());
+        if (!lessonDays.isEmpty() && !lessonDays.contains(key.date().getDayOfWeek())) {
+            return "Group has no lesson on " + key.date().getDayOfWeek() + "; lesson days are " + lessonDays;
+        }
+        if (roster.isEmpty()) {
+            return "No students enrolled in this group";
+        }
+        if (!roster.containsAll(absentIds)) {
+            List<Long> unknown = absentIds.stream().filter(id -> !roster.contains(id)).sorted().toList();
+            return "Students not enrolled in this group: " + unknown;
+        }
+        return null;
+    }
+
+    private void insert(List<Mark> marks) {
+        if (marks.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ATTENDANCE, marks, BATCH_SIZE, (ps, mark) -> {
+            ps.setDate(1, Date.valueOf(mark.date()));
+            ps.setLong(2, mark.studentId());
+            ps.setLong(3, mark.groupId());
+            ps.setString(4, mark.status().name());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    private record GroupDate(Long groupId, LocalDate date) {
+    }
+
+    private record NaturalKey(Long studentId, Long groupId, LocalDate date) {
+    }
+
+    // (id, groupId, studentId, date, status) from the findKeysBy* queries
+    private record Row(Long id, Long groupId, Long studentId, LocalDate date, AttendanceStatus status) {
+
+        static Row of(Object[] tuple) {
+            return new Row((Long) tuple[0], (Long) tuple[1], (Long) tuple[2],
+                    (LocalDate) tuple[3], (AttendanceStatus) tuple[4]);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import com.ogabek.CreativeLearningCenter.cache.ReportCache;
+import com.ogabek.CreativeLearningCenter.dto.response.ReportResponse.*;
+import com.ogabek.CreativeLearningCenter.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+// Serves reports from ReportCache and only falls through to ReportServiceImpl on a miss,
+// so cache hits never open a transaction
+@Service
+@Primary
+@RequiredArgsConstructor
+public class CachedReportService implements ReportService {
+
+    private final ReportServiceImpl reportServiceImpl;
+    private final ReportCache reportCache;
+
+    @Override
+    public DailyReport getDailyReport(int year, int month, int day) {
+        return reportCache.getDaily(LocalDate.of(year, month, day),
+                () -> reportServiceImpl.getDailyReport(year, month, day));
+    }
+
+    @Override
+    public MonthlyReport getMonthlyReport(int year, int month) {
+        return reportCache.getMonthly(YearMonth.of(year, month),
+                () -> reportServiceImpl.getMonthlyReport(year, month));
+    }
+
+    @Override
+    public YearlyReport getYearlyReport(int year) {
+        return reportCache.getYearly(year, () -> reportServiceImpl.getYearlyReport(year));
+    }
+
+    // Arbitrary ranges don't map onto the per-period eviction keys, and the grouped queries are cheap
+    @Override
+    public List<DailySeriesEntry> getDailySeries(LocalDate from, LocalDate to) {
+        return reportServiceImpl.getDailySeries(from, to);
+    }
+}
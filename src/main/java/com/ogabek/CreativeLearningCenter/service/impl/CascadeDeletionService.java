@@ -0,0 +1,76 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import com.ogabek.CreativeLearningCenter.event.GroupChangedEvent;
+import com.ogabek.CreativeLearningCenter.event.StudentChangedEvent;
+import com.ogabek.CreativeLearningCenter.exception.ResourceNotFoundException;
+import com.ogabek.CreativeLearningCenter.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Deletes a student or group together with everything that references it, one bulk statement per table instead
+// of loading and removing rows one by one. Order follows the foreign keys: attendances and attendance_months,
+// then payments and their group_month_stats, then enrollments and schedule slots, then the row itself. Bulk
+// deletes skip the persistence context, so the final statement clears it. Counting the existence check, either
+// delete is eight statements, independent of how many rows or months are involved.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CascadeDeletionService {
+
+    private final StudentRepository studentRepository;
+    private final GroupRepository groupRepository;
+    private final StudentGroupRepository studentGroupRepository;
+    private final PaymentRepository paymentRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final GroupScheduleRepository groupScheduleRepository;
+    private final AttendanceMonthService attendanceMonthService;
+    private final GroupMonthStatsService groupMonthStatsService;
+    private final ActiveStudentCountService activeStudentCountService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DeletedRows deleteStudent(Long studentId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student", studentId);
+        }
+
+        int attendances = attendanceRepository.deleteByStudentId(studentId);
+        int attendanceMonths = attendanceMonthService.deleteByStudent(studentId);
+        // Stats must be adjusted while the payments still exist
+        groupMonthStatsService.onStudentPaymentsRemoved(studentId);
+        int payments = paymentRepository.deleteByStudentId(studentId);
+        activeStudentCountService.studentRemoved(studentId);
+        int enrollments = studentGroupRepository.deleteByStudentId(studentId);
+        studentRepository.deleteRowById(studentId);
+        eventPublisher.publishEvent(new StudentChangedEvent(studentId));
+
+        DeletedRows deleted = new DeletedRows(attendances, attendanceMonths, payments, enrollments);
+        log.info("Deleted student {} with {}", studentId, deleted);
+        return deleted;
+    }
+
+    public DeletedRows deleteGroup(Long groupId) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResourceNotFoundException("Group", groupId);
+        }
+
+        int attendances = attendanceRepository.deleteByGroupId(groupId);
+        int attendanceMonths = attendanceMonthService.deleteByGroup(groupId);
+        int payments = paymentRepository.deleteByGroupId(groupId);
+        groupMonthStatsService.deleteByGroup(groupId);
+        int enrollments = studentGroupRepository.deleteByGroupId(groupId);
+        groupScheduleRepository.deleteByGroupId(groupId);
+        groupRepository.deleteRowById(groupId);
+        eventPublisher.publishEvent(new GroupChangedEvent(groupId));
+
+        DeletedRows deleted = new DeletedRows(attendances, attendanceMonths, payments, enrollments);
+        log.info("Deleted group {} with {}", groupId, deleted);
+        return deleted;
+    }
+
+    public record DeletedRows(int attendances, int attendanceMonths, int payments, int enrollments) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import com.ogabek.CreativeLearningCenter.repository.PaymentRepository;
+import com.ogabek.CreativeLearningCenter.repository.StudentGroupRepository;
+import com.ogabek.CreativeLearningCenter.service.ExportService;
+import com.ogabek.CreativeLearningCenter.util.CsvWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Rows are read through a database cursor and written as they arrive, so heap use does not grow
+// with the export size. The transaction stays open until the last row has been written.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+
+    private final PaymentRepository paymentRepository;
+    private final StudentGroupRepository studentGroupRepository;
+
+    @Override
+    public void writePaymentsCsv(OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        int rows = 0;
+
+        try (Stream<Object[]> payments = paymentRepository.streamAllForExport();
+             CsvWriter csv = new CsvWriter(out)) {
+            csv.writeRow("id", "student", "group", "amount", "paidForMonth", "paidAt");
+            Iterator<Object[]> iterator = payments.iterator();
+            while (iterator.hasNext()) {
+                csv.writeRow(iterator.next());
+                rows++;
+            }
+        }
+
+        log.info("Exported {} payments in {} ms", rows, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void writeUnpaidStudentsCsv(int year, int month, OutputStream out) throws IOException {
+        String monthKey = year + "-" + String.format("%02d", month);
+        long start = System.currentTimeMillis();
+        int rows = 0;
+
+        try (Stream<Object[]> unpaid = studentGroupRepository.streamUnpaidActiveEnrollments(monthKey);
+             CsvWriter csv = new CsvWriter(out)) {
+            csv.writeRow("studentId", "studentName", "parentName", "parentPhone",
+                    "groupId", "groupName", "monthlyFee");
+            Iterator<Object[]> iterator = unpaid.iterator();
+            while (iterator.hasNext()) {
+                csv.writeRow(iterator.next());
+                rows++;
+            }
+        }
+
+        log.info("Exported {} unpaid students for {} in {} ms", rows, monthKey, System.currentTimeMillis() - start);
+    }
+}
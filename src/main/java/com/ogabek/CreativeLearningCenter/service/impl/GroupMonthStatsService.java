@@ -0,0 +1,140 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import com.ogabek.CreativeLearningCenter.config.SqlDialect;
+import com.ogabek.CreativeLearningCenter.dto.response.RebuildResponse;
+import com.ogabek.CreativeLearningCenter.event.RollupRebuiltEvent;
+import com.ogabek.CreativeLearningCenter.repository.GroupMonthStatsRepository;
+import com.ogabek.CreativeLearningCenter.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// Maintains the group_month_stats rollup (paid amount, payment count, paying students per group and month).
+// Deltas are applied inside the same transaction as the payment write, with one atomic upsert per change.
+// The upsert keeps the (group, month) row locked until commit, so the paying-student check that follows it
+// sees every committed payment of that group and month and concurrent payments cannot drift the count.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class GroupMonthStatsService {
+
+    private static final String UPSERT_POSTGRES =
+            "INSERT INTO group_month_stats (group_id, year_month, paid_amount, payment_count, paid_student_count, " +
+            "updated_at) VALUES (?, ?, ?, ?, 0, ?) " +
+            "ON CONFLICT (group_id, year_month) DO UPDATE SET " +
+            "paid_amount = group_month_stats.paid_amount + EXCLUDED.paid_amount, " +
+            "payment_count = group_month_stats.payment_count + EXCLUDED.payment_count, " +
+            "updated_at = EXCLUDED.updated_at";
+    private static final String UPSERT_H2 =
+            "MERGE INTO group_month_stats t USING (SELECT CAST(? AS BIGINT) AS group_id, " +
+            "CAST(? AS VARCHAR(7)) AS year_month, CAST(? AS NUMERIC(14, 2)) AS paid_amount, " +
+            "CAST(? AS INTEGER) AS payment_count, CAST(? AS TIMESTAMP) AS updated_at) s " +
+            "ON t.group_id = s.group_id AND t.year_month = s.year_month " +
+            "WHEN MATCHED THEN UPDATE SET paid_amount = t.paid_amount + s.paid_amount, " +
+            "payment_count = t.payment_count + s.payment_count, updated_at = s.updated_at " +
+            "WHEN NOT MATCHED THEN INSERT (group_id, year_month, paid_amount, payment_count, paid_student_count, " +
+            "updated_at) VALUES (s.group_id, s.year_month, s.paid_amount, s.payment_count, 0, s.updated_at)";
+
+    // Keeps payment writers out while rebuild() recomputes; they wait on their upsert and apply afterwards
+    private static final String LOCK_POSTGRES = "LOCK TABLE group_month_stats IN EXCLUSIVE MODE";
+    private static final String LOCK_H2 = "SELECT id FROM group_month_stats FOR UPDATE";
+
+    private static final String INSERT_MISSING =
+            "INSERT INTO group_month_stats (group_id, year_month, paid_amount, payment_count, paid_student_count, " +
+            "updated_at) SELECT p.group_id, p.paid_for_month, SUM(p.amount), COUNT(*), COUNT(DISTINCT p.student_id), ? " +
+            "FROM payments p WHERE NOT EXISTS (SELECT 1 FROM group_month_stats s " +
+            "WHERE s.group_id = p.group_id AND s.year_month = p.paid_for_month) " +
+            "GROUP BY p.group_id, p.paid_for_month";
+
+    private final GroupMonthStatsRepository groupMonthStatsRepository;
+    private final PaymentRepository paymentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlDialect sqlDialect;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Call after the payment was inserted, or moved to this student, group and month
+    public void onPaymentAdded(Long groupId, Long studentId, String yearMonth, BigDecimal amount) {
+        upsert(groupId, yearMonth, amount, 1);
+        if (paymentCount(groupId, studentId, yearMonth) == 1) {
+            groupMonthStatsRepository.adjust(groupId, yearMonth, BigDecimal.ZERO, 0, 1, LocalDateTime.now());
+        }
+    }
+
+    // Call after the payment was deleted, or moved away from this student, group and month
+    public void onPaymentRemoved(Long groupId, Long studentId, String yearMonth, BigDecimal amount) {
+        upsert(groupId, yearMonth, amount.negate(), -1);
+        if (paymentCount(groupId, studentId, yearMonth) == 0) {
+            groupMonthStatsRepository.adjust(groupId, yearMonth, BigDecimal.ZERO, 0, -1, LocalDateTime.now());
+        }
+    }
+
+    // Amount changed, same student, group and month
+    public void onPaymentAmountChanged(Long groupId, String yearMonth, BigDecimal delta) {
+        upsert(groupId, yearMonth, delta, 0);
+    }
+
+    private void upsert(Long groupId, String yearMonth, BigDecimal amount, int payments) {
+        jdbcTemplate.update(sqlDialect.pick(UPSERT_POSTGRES, UPSERT_H2),
+                groupId, yearMonth, amount, payments, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // Runs after the upsert holds the row lock; the flush makes this transaction's own payment write visible
+    private long paymentCount(Long groupId, Long studentId, String yearMonth) {
+        paymentRepository.flush();
+        return paymentRepository.countByStudentIdAndGroupIdAndPaidForMonth(studentId, groupId, yearMonth);
+    }
+
+    // Must be called before the student's payments are deleted; one UPDATE however many months they paid for
+    public void onStudentPaymentsRemoved(Long studentId) {
+        int rows = groupMonthStatsRepository.removeStudentPayments(studentId, LocalDateTime.now());
+        log.info("Removed payments of student {} from {} group-month stats rows", studentId, rows);
+    }
+
+    public int deleteByGroup(Long groupId) {
+        return groupMonthStatsRepository.deleteByGroupId(groupId);
+    }
+
+    // Recomputes in place under a table lock instead of delete-and-reinsert, so payments written meanwhile are
+    // either committed before the lock (and counted) or applied as deltas after the rebuild commits
+    public RebuildResponse rebuild() {
+        long start = System.currentTimeMillis();
+        log.info("Rebuilding group-month stats from payments");
+
+        if (sqlDialect.isPostgres()) {
+            jdbcTemplate.execute(LOCK_POSTGRES);
+        } else {
+            jdbcTemplate.queryForList(LOCK_H2);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated = groupMonthStatsRepository.recomputeAll(now);
+        int inserted = jdbcTemplate.update(INSERT_MISSING, Timestamp.valueOf(now));
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Rebuilt group-month stats: {} rows recomputed, {} added in {} ms", updated, inserted, elapsed);
+        eventPublisher.publishEvent(new RollupRebuiltEvent("group_month_stats"));
+
+        return RebuildResponse.builder()
+                .target("group_month_stats")
+                .rows(updated + inserted)
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    // Backfill on first start after deployment (or after demo data is loaded)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (groupMonthStatsRepository.count() == 0 && paymentRepository.count() > 0) {
+            rebuild();
+        }
+    }
+}
@@ -4,16 +4,17 @@ import com.ogabek.CreativeLearningCenter.dto.request.GroupRequest;
 import com.ogabek.CreativeLearningCenter.dto.response.GroupResponse;
 import com.ogabek.CreativeLearningCenter.entity.Group;
 import com.ogabek.CreativeLearningCenter.entity.Teacher;
+import com.ogabek.CreativeLearningCenter.event.GroupChangedEvent;
 import com.ogabek.CreativeLearningCenter.exception.ResourceNotFoundException;
 import com.ogabek.CreativeLearningCenter.mapper.GroupMapper;
-import com.ogabek.CreativeLearningCenter.repository.AttendanceRepository;
 import com.ogabek.CreativeLearningCenter.repository.GroupRepository;
 import com.ogabek.CreativeLearningCenter.repository.PaymentRepository;
-import com.ogabek.CreativeLearningCenter.repository.StudentGroupRepository;
 import com.ogabek.CreativeLearningCenter.repository.TeacherRepository;
+import com.ogabek.CreativeLearningCenter.schedule.ScheduleIndex;
 import com.ogabek.CreativeLearningCenter.service.GroupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,10 +30,11 @@ public class GroupServiceImpl implements GroupService {
     
     private final GroupRepository groupRepository;
     private final TeacherRepository teacherRepository;
-    private final StudentGroupRepository studentGroupRepository;
-    private final AttendanceRepository attendanceRepository;
     private final PaymentRepository paymentRepository;
+    private final CascadeDeletionService cascadeDeletionService;
+    private final ScheduleIndex scheduleIndex;
     private final GroupMapper groupMapper;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public GroupResponse create(GroupRequest request) {
@@ -43,6 +45,7 @@ public class GroupServiceImpl implements GroupService {
         
         Group group = groupMapper.toEntity(request, teacher);
         group = groupRepository.save(group);
+        eventPublisher.publishEvent(new GroupChangedEvent(group.getId()));
         
         log.info("Group created with id: {}", group.getId());
         return groupMapper.toResponse(group, 0, BigDecimal.ZERO);
@@ -52,21 +55,14 @@ public class GroupServiceImpl implements GroupService {
     @Transactional(readOnly = true)
     public GroupResponse getById(Long id) {
         Group group = findGroupById(id);
-        int activeStudentsCount = studentGroupRepository.countActiveByGroupId(id);
         BigDecimal totalPaid = paymentRepository.getTotalPaidByGroupId(id);
-        return groupMapper.toResponse(group, activeStudentsCount, totalPaid);
+        return groupMapper.toResponse(group, group.getActiveStudentCount(), totalPaid);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<GroupResponse> getAll() {
-        return groupRepository.findAll().stream()
-                .map(group -> {
-                    int activeStudentsCount = studentGroupRepository.countActiveByGroupId(group.getId());
-                    BigDecimal totalPaid = paymentRepository.getTotalPaidByGroupId(group.getId());
-                    return groupMapper.toResponse(group, activeStudentsCount, totalPaid);
-                })
-                .toList();
+        return toResponses(groupRepository.findAllWithStats());
     }
 
     @Override
@@ -76,15 +72,8 @@ public class GroupServiceImpl implements GroupService {
         LocalDate now = LocalDate.now();
         String currentMonth = now.getYear() + "-" + String.format("%02d", now.getMonthValue());
 
-        return groupRepository.findAllByOrderByTeacherIdAscNameAsc().stream()
-                .map(group -> {
-                    int activeStudentsCount = studentGroupRepository.countActiveByGroupId(group.getId());
-                    // Use current month instead of total
-                    BigDecimal totalPaid = paymentRepository.getTotalPaidByGroupIdAndMonth(
-                            group.getId(), currentMonth);
-                    return groupMapper.toResponse(group, activeStudentsCount, totalPaid);
-                })
-                .toList();
+        // Use current month instead of total
+        return toResponses(groupRepository.findAllWithMonthStatsOrderByTeacher(currentMonth));
     }
     
     @Override
@@ -94,13 +83,7 @@ public class GroupServiceImpl implements GroupService {
             throw new ResourceNotFoundException("Teacher", teacherId);
         }
         
-        return groupRepository.findByTeacherIdOrderByNameAsc(teacherId).stream()
-                .map(group -> {
-                    int activeStudentsCount = studentGroupRepository.countActiveByGroupId(group.getId());
-                    BigDecimal totalPaid = paymentRepository.getTotalPaidByGroupId(group.getId());
-                    return groupMapper.toResponse(group, activeStudentsCount, totalPaid);
-                })
-                .toList();
+        return toResponses(groupRepository.findByTeacherIdWithStats(teacherId));
     }
     
     @Override
@@ -111,28 +94,29 @@ public class GroupServiceImpl implements GroupService {
         Teacher teacher = teacherRepository.findById(request.getTeacherId())
                 .orElseThrow(() -> new ResourceNotFoundException("Teacher", request.getTeacherId()));
         
+        // Moving a scheduled group to another teacher must not double-book that teacher
+        scheduleIndex.reassignTeacher(id, teacher.getId());
         groupMapper.updateEntity(group, request, teacher);
         group = groupRepository.save(group);
+        eventPublisher.publishEvent(new GroupChangedEvent(id));
         
-        int activeStudentsCount = studentGroupRepository.countActiveByGroupId(id);
         BigDecimal totalPaid = paymentRepository.getTotalPaidByGroupId(id);
-        return groupMapper.toResponse(group, activeStudentsCount, totalPaid);
+        return groupMapper.toResponse(group, group.getActiveStudentCount(), totalPaid);
     }
     
     @Override
     public void delete(Long id) {
         log.info("Deleting group: {}", id);
-        
-        Group group = findGroupById(id);
-        
-        studentGroupRepository.deleteByGroupId(id);
-        attendanceRepository.deleteByGroupId(id);
-        paymentRepository.deleteByGroupId(id);
-        groupRepository.delete(group);
-        
-        log.info("Group deleted: {}", id);
+        cascadeDeletionService.deleteGroup(id);
     }
     
+    // Rows of (group, teacher, activeStudents, paid) from the GroupRepository *WithStats queries
+    private List<GroupResponse> toResponses(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> groupMapper.toResponse((Group) row[0], ((Number) row[2]).intValue(), (BigDecimal) row[3]))
+                .toList();
+    }
+
     private Group findGroupById(Long id) {
         return groupRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Group", id));
@@ -45,17 +45,13 @@ public class InquiryServiceImpl implements InquiryService {
     @Override
     @Transactional(readOnly = true)
     public List<InquiryResponse> getAll() {
-        return inquiryRepository.findAll().stream()
-                .map(inquiryMapper::toResponse)
-                .toList();
+        return inquiryRepository.findAllResponses();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<InquiryResponse> getByStatus(InquiryStatus status) {
-        return inquiryRepository.findByStatus(status).stream()
-                .map(inquiryMapper::toResponse)
-                .toList();
+        return inquiryRepository.findResponsesByStatus(status);
     }
 
     @Override
@@ -0,0 +1,117 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import com.ogabek.CreativeLearningCenter.cache.ParentSummaryCache;
+import com.ogabek.CreativeLearningCenter.cache.ParentSummaryCache.Loaded;
+import com.ogabek.CreativeLearningCenter.dto.response.ParentSummaryResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.ParentSummaryResponse.AttendanceEntry;
+import com.ogabek.CreativeLearningCenter.dto.response.StudentResponse;
+import com.ogabek.CreativeLearningCenter.entity.AttendanceStatus;
+import com.ogabek.CreativeLearningCenter.entity.Student;
+import com.ogabek.CreativeLearningCenter.entity.StudentGroup;
+import com.ogabek.CreativeLearningCenter.exception.ResourceNotFoundException;
+import com.ogabek.CreativeLearningCenter.mapper.PaymentStatusProvider;
+import com.ogabek.CreativeLearningCenter.mapper.PaymentStatusProvider.PaidAmounts;
+import com.ogabek.CreativeLearningCenter.repository.AttendanceRepository;
+import com.ogabek.CreativeLearningCenter.repository.StudentGroupRepository;
+import com.ogabek.CreativeLearningCenter.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+// Read-only summary for parents, looked up by the smsLinkCode sent in reminder messages.
+// Cache hits never touch the database; misses load in their own read-only transaction.
+@Service
+@Slf4j
+public class ParentSummaryService {
+
+    private static final int RECENT_ATTENDANCE_DAYS = 30;
+
+    private final StudentRepository studentRepository;
+    private final StudentGroupRepository studentGroupRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final PaymentStatusProvider paymentStatusProvider;
+    private final ParentSummaryCache parentSummaryCache;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ParentSummaryService(StudentRepository studentRepository,
+                                StudentGroupRepository studentGroupRepository,
+                                AttendanceRepository attendanceRepository,
+                                PaymentStatusProvider paymentStatusProvider,
+                                ParentSummaryCache parentSummaryCache,
+                                PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.studentGroupRepository = studentGroupRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.paymentStatusProvider = paymentStatusProvider;
+        this.parentSummaryCache = parentSummaryCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public ParentSummaryResponse getSummary(String smsLinkCode) {
+        String code = smsLinkCode.trim().toUpperCase(Locale.ROOT);
+        ParentSummaryResponse summary =
+                parentSummaryCache.get(code, () -> readOnlyTransaction.execute(status -> load(code)));
+        if (summary == null) {
+            throw new ResourceNotFoundException("Student not found with code: " + code);
+        }
+        return summary;
+    }
+
+    private Loaded load(String code) {
+        Student student = studentRepository.findBySmsLinkCode(code).orElse(null);
+        if (student == null) {
+            return Loaded.MISSING;
+        }
+
+        List<StudentGroup> groups = studentGroupRepository.findActiveByStudentIdWithGroup(student.getId());
+        PaidAmounts paidAmounts = paymentStatusProvider.forStudents(
+                PaymentStatusProvider.monthKey(null, null), List.of(student.getId()));
+
+        List<StudentResponse.GroupInfo> groupInfos = groups.stream()
+                .map(sg -> {
+                    BigDecimal paid = paidAmounts.get(student.getId(), sg.getGroup().getId());
+                    return StudentResponse.GroupInfo.builder()
+                            .groupId(sg.getGroup().getId())
+                            .groupName(sg.getGroup().getName())
+                            .teacherName(sg.getGroup().getTeacher().getFullName())
+                            .monthlyFee(sg.getGroup().getMonthlyFee())
+                            .paidForCurrentMonth(paid.compareTo(BigDecimal.ZERO) > 0)
+                            .currentMonth(paidAmounts.getMonth())
+                            .amountPaidThisMonth(paid)
+                            .build();
+                })
+                .toList();
+
+        List<AttendanceEntry> attendance = attendanceRepository
+                .findRecentByStudentId(student.getId(), LocalDate.now().minusDays(RECENT_ATTENDANCE_DAYS))
+                .stream()
+                .map(row -> AttendanceEntry.builder()
+                        .date((LocalDate) row[0])
+                        .groupName((String) row[1])
+                        .status((AttendanceStatus) row[2])
+                        .build())
+                .toList();
+        int present = (int) attendance.stream().filter(a -> a.getStatus() == AttendanceStatus.PRESENT).count();
+
+        ParentSummaryResponse summary = ParentSummaryResponse.builder()
+                .studentName(student.getFullName())
+                .currentMonth(paidAmounts.getMonth())
+                .paidForCurrentMonth(!groupInfos.isEmpty()
+                        && groupInfos.stream().allMatch(StudentResponse.GroupInfo::getPaidForCurrentMonth))
+                .groups(groupInfos)
+                .recentAttendance(attendance)
+                .presentCount(present)
+                .absentCount(attendance.size() - present)
+                .generatedAt(LocalDateTime.now())
+                .build();
+        return new Loaded(summary, student.getId());
+    }
+}
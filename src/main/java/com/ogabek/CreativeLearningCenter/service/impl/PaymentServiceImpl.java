@@ -5,6 +5,7 @@ import com.ogabek.CreativeLearningCenter.dto.response.PaymentResponse;
 import com.ogabek.CreativeLearningCenter.entity.Group;
 import com.ogabek.CreativeLearningCenter.entity.Payment;
 import com.ogabek.CreativeLearningCenter.entity.Student;
+import com.ogabek.CreativeLearningCenter.event.PaymentChangedEvent;
 import com.ogabek.CreativeLearningCenter.exception.BadRequestException;
 import com.ogabek.CreativeLearningCenter.exception.ResourceNotFoundException;
 import com.ogabek.CreativeLearningCenter.mapper.PaymentMapper;
@@ -15,9 +16,11 @@ import com.ogabek.CreativeLearningCenter.repository.StudentRepository;
 import com.ogabek.CreativeLearningCenter.service.PaymentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Service
@@ -30,7 +33,9 @@ public class PaymentServiceImpl implements PaymentService {
     private final StudentRepository studentRepository;
     private final GroupRepository groupRepository;
     private final StudentGroupRepository studentGroupRepository;
+    private final GroupMonthStatsService groupMonthStatsService;
     private final PaymentMapper paymentMapper;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public PaymentResponse create(PaymentRequest request) {
@@ -62,6 +67,9 @@ public class PaymentServiceImpl implements PaymentService {
         
         Payment payment = paymentMapper.toEntity(request, student, group);
         payment = paymentRepository.save(payment);
+        groupMonthStatsService.onPaymentAdded(group.getId(), student.getId(), payment.getPaidForMonth(),
+                payment.getAmount());
+        publishChanged(payment);
         
         log.info("Payment created with id: {}", payment.getId());
         
@@ -78,9 +86,7 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional(readOnly = true)
     public List<PaymentResponse> getAll() {
-        return paymentRepository.findAll().stream()
-                .map(paymentMapper::toResponse)
-                .toList();
+        return paymentRepository.findAllResponses();
     }
     
     @Override
@@ -131,6 +137,13 @@ public class PaymentServiceImpl implements PaymentService {
         
         Payment payment = findPaymentById(id);
         
+        // Old values for the group-month stats, applied once the change is written
+        Long oldGroupId = payment.getGroup().getId();
+        Long oldStudentId = payment.getStudent().getId();
+        String oldMonth = payment.getPaidForMonth();
+        BigDecimal oldAmount = payment.getAmount();
+        publishChanged(payment);
+        
         // Check if updating to different student/group
         boolean studentChanged = !payment.getStudent().getId().equals(request.getStudentId());
         boolean groupChanged = !payment.getGroup().getId().equals(request.getGroupId());
@@ -159,6 +172,15 @@ public class PaymentServiceImpl implements PaymentService {
         payment.setPaidForMonth(request.getPaidForMonth());
         
         payment = paymentRepository.save(payment);
+        if (!studentChanged && !groupChanged && oldMonth.equals(payment.getPaidForMonth())) {
+            groupMonthStatsService.onPaymentAmountChanged(oldGroupId, oldMonth,
+                    payment.getAmount().subtract(oldAmount));
+        } else {
+            groupMonthStatsService.onPaymentRemoved(oldGroupId, oldStudentId, oldMonth, oldAmount);
+            groupMonthStatsService.onPaymentAdded(payment.getGroup().getId(), payment.getStudent().getId(),
+                    payment.getPaidForMonth(), payment.getAmount());
+        }
+        publishChanged(payment);
         log.info("Payment {} updated successfully", id);
         
         return paymentMapper.toResponse(payment);
@@ -170,10 +192,19 @@ public class PaymentServiceImpl implements PaymentService {
         
         Payment payment = findPaymentById(id);
         paymentRepository.delete(payment);
+        groupMonthStatsService.onPaymentRemoved(payment.getGroup().getId(), payment.getStudent().getId(),
+                payment.getPaidForMonth(), payment.getAmount());
+        publishChanged(payment);
         
         log.info("Payment {} deleted successfully", id);
     }
     
+    private void publishChanged(Payment payment) {
+        eventPublisher.publishEvent(new PaymentChangedEvent(payment.getStudent().getId(),
+                payment.getGroup().getId(), payment.getPaidForMonth(),
+                payment.getPaidAt() != null ? payment.getPaidAt().toLocalDate() : null));
+    }
+    
     private Payment findPaymentById(Long id) {
         return paymentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment", id));
@@ -0,0 +1,213 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import com.ogabek.CreativeLearningCenter.dto.request.ReportJobRequest;
+import com.ogabek.CreativeLearningCenter.dto.response.ReportJobResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.ReportJobResponse.Status;
+import com.ogabek.CreativeLearningCenter.exception.BadRequestException;
+import com.ogabek.CreativeLearningCenter.exception.ResourceNotFoundException;
+import com.ogabek.CreativeLearningCenter.exception.TooManyRequestsException;
+import com.ogabek.CreativeLearningCenter.service.ReportService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+// Runs reports in the background so long yearly reports don't hold a request thread (or hit the proxy timeout).
+// Every job gets a virtual thread; the semaphore caps how many compute at once so jobs can't exhaust the DB pool.
+// A second semaphore admits at most max-queued unfinished jobs; a submit beyond that gets 429 with Retry-After.
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private final ReportService reportService;
+    private final Duration resultTtl;
+    private final Duration retryAfter;
+    private final Semaphore queuedPermits;
+    private final Semaphore runningPermits;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-job-", 0).factory());
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public ReportJobService(
+            ReportService reportService,
+            @Value("${reports.jobs.result-ttl:PT30M}") Duration resultTtl,
+            @Value("${reports.jobs.max-concurrent:4}") int maxConcurrent,
+            @Value("${reports.jobs.max-queued:100}") int maxQueuedJobs,
+            @Value("${reports.jobs.retry-after:PT30S}") Duration retryAfter) {
+        this.reportService = reportService;
+        this.resultTtl = resultTtl;
+        this.retryAfter = retryAfter;
+        this.queuedPermits = new Semaphore(maxQueuedJobs);
+        this.runningPermits = new Semaphore(maxConcurrent);
+    }
+
+    public ReportJobResponse submit(ReportJobRequest request) {
+        String period = validatePeriod(request);
+        purgeExpired();
+
+        // Released by run() when the job finishes, or below when it never starts
+        if (!queuedPermits.tryAcquire()) {
+            throw new TooManyRequestsException("Too many report jobs in progress, try again later", retryAfter);
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), request, period);
+        jobs.put(job.id, job);
+        try {
+            executor.submit(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            log.error("Report job {} rejected by the executor", job.id, e);
+            job.fail("Report executor is not accepting jobs", resultTtl);
+            queuedPermits.release();
+            return job.toResponse();
+        }
+
+        log.info("Queued {} report job {} for {}", request.getType(), job.id, period);
+        return job.toResponse();
+    }
+
+    public ReportJobResponse get(String id) {
+        purgeExpired();
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Report job", "id", id);
+        }
+        return job.toResponse();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job) {
+        try {
+            compute(job);
+        } finally {
+            queuedPermits.release();
+        }
+    }
+
+    private void compute(Job job) {
+        try {
+            runningPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Interrupted before start", resultTtl);
+            return;
+        }
+
+        try {
+            job.start();
+            ReportJobRequest request = job.request;
+            Object result = switch (request.getType()) {
+                case DAILY -> reportService.getDailyReport(request.getYear(), request.getMonth(), request.getDay());
+                case MONTHLY -> reportService.getMonthlyReport(request.getYear(), request.getMonth());
+                case YEARLY -> reportService.getYearlyReport(request.getYear());
+            };
+            job.complete(result, resultTtl);
+            log.info("Report job {} completed in {} ms", job.id,
+                    Duration.between(job.startedAt, job.completedAt).toMillis());
+        } catch (Exception e) {
+            log.error("Report job {} failed", job.id, e);
+            job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName(), resultTtl);
+        } finally {
+            runningPermits.release();
+        }
+    }
+
+    private String validatePeriod(ReportJobRequest request) {
+        try {
+            return switch (request.getType()) {
+                case DAILY -> {
+                    requirePresent(request.getMonth(), "Month");
+                    requirePresent(request.getDay(), "Day");
+                    yield LocalDate.of(request.getYear(), request.getMonth(), request.getDay()).toString();
+                }
+                case MONTHLY -> {
+                    requirePresent(request.getMonth(), "Month");
+                    yield String.format("%d-%02d", request.getYear(), request.getMonth());
+                }
+                case YEARLY -> String.valueOf(request.getYear());
+            };
+        } catch (DateTimeException e) {
+            throw new BadRequestException("Invalid report date: " + e.getMessage());
+        }
+    }
+
+    private static void requirePresent(Integer value, String field) {
+        if (value == null) {
+            throw new BadRequestException(field + " is required for this report type");
+        }
+    }
+
+    private void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        jobs.values().removeIf(job -> job.expiresAt != null && job.expiresAt.isBefore(now));
+    }
+
+    private static class Job {
+
+        private final String id;
+        private final ReportJobRequest request;
+        private final String period;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile Status status = Status.PENDING;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime completedAt;
+        private volatile LocalDateTime expiresAt;
+        private volatile String error;
+        private volatile Object result;
+
+        Job(String id, ReportJobRequest request, String period) {
+            this.id = id;
+            this.request = request;
+            this.period = period;
+        }
+
+        void start() {
+            startedAt = LocalDateTime.now();
+            status = Status.RUNNING;
+        }
+
+        void complete(Object value, Duration ttl) {
+            result = value;
+            completedAt = LocalDateTime.now();
+            expiresAt = completedAt.plus(ttl);
+            status = Status.COMPLETED;
+        }
+
+        void fail(String message, Duration ttl) {
+            error = message;
+            completedAt = LocalDateTime.now();
+            expiresAt = completedAt.plus(ttl);
+            status = Status.FAILED;
+        }
+
+        ReportJobResponse toResponse() {
+            return ReportJobResponse.builder()
+                    .id(id)
+                    .type(request.getType())
+                    .period(period)
+                    .status(status)
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .expiresAt(expiresAt)
+                    .error(error)
+                    .result(status == Status.COMPLETED ? result : null)
+                    .build();
+        }
+    }
+}
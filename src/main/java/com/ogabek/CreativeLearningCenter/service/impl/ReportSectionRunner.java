@@ -0,0 +1,118 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// Runs independent report sections concurrently, each on its own virtual thread and in its own read-only
+// transaction. Scopes behave like a structured task scope (which is still a preview API on Java 21):
+// the first failing section cancels its siblings and join() rethrows that failure.
+// The semaphore keeps concurrent section transactions below the connection pool size.
+@Component
+@Slf4j
+public class ReportSectionRunner {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore connectionPermits;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-section-", 0).factory());
+
+    public ReportSectionRunner(
+            PlatformTransactionManager transactionManager,
+            @Value("${reports.sections.max-concurrent:6}") int maxConcurrent) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.connectionPermits = new Semaphore(maxConcurrent);
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public interface Section<T> {
+        // Only valid after Scope.join() returned normally
+        T get();
+    }
+
+    public class Scope implements AutoCloseable {
+
+        private final List<Future<?>> futures = new CopyOnWriteArrayList<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        public <T> Section<T> fork(String name, Supplier<T> work) {
+            Future<T> future = executor.submit(() -> run(name, work));
+            futures.add(future);
+            if (failure.get() != null) {
+                future.cancel(true);
+            }
+            return future::resultNow;
+        }
+
+        public void join() {
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (CancellationException | ExecutionException e) {
+                    // The cause is recorded in run(); keep going until every section has finished or been cancelled
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancelAll();
+                    throw new IllegalStateException("Interrupted while waiting for report sections", e);
+                }
+            }
+
+            Throwable cause = failure.get();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            if (cause != null) {
+                throw new IllegalStateException("Report section failed", cause);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private <T> T run(String name, Supplier<T> work) throws InterruptedException {
+            connectionPermits.acquire();
+            try {
+                long start = System.currentTimeMillis();
+                T result = readOnlyTransaction.execute(status -> work.get());
+                log.debug("Report section {} took {} ms", name, System.currentTimeMillis() - start);
+                return result;
+            } catch (RuntimeException | Error e) {
+                if (failure.compareAndSet(null, e)) {
+                    log.warn("Report section {} failed, cancelling the remaining sections", name);
+                    cancelAll();
+                }
+                throw e;
+            } finally {
+                connectionPermits.release();
+            }
+        }
+
+        private void cancelAll() {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+}
@@ -2,11 +2,14 @@ package com.ogabek.CreativeLearningCenter.service.impl;
 
 import com.ogabek.CreativeLearningCenter.dto.response.ReportResponse.*;
 import com.ogabek.CreativeLearningCenter.entity.*;
+import com.ogabek.CreativeLearningCenter.exception.BadRequestException;
 import com.ogabek.CreativeLearningCenter.repository.*;
 import com.ogabek.CreativeLearningCenter.service.ReportService;
+import com.ogabek.CreativeLearningCenter.util.AttendanceBits;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -14,6 +17,7 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -28,6 +32,15 @@ public class ReportServiceImpl implements ReportService {
     private final GroupRepository groupRepository;
     private final StudentGroupRepository studentGroupRepository;
     private final TeacherRepository teacherRepository;
+    private final GroupMonthStatsRepository groupMonthStatsRepository;
+    private final AttendanceMonthRepository attendanceMonthRepository;
+    private final ReportSectionRunner reportSectionRunner;
+
+    private static final int TOP_GROUPS_LIMIT = 10;
+    private static final int MAX_SERIES_DAYS = 366;
+    private static final Comparator<GroupYearlyStats> TOP_GROUP_ORDER = Comparator
+            .comparing(GroupYearlyStats::getTotalRevenue, Comparator.reverseOrder())
+            .thenComparing(GroupYearlyStats::getGroupId);
 
     @Override
     public DailyReport getDailyReport(int year, int month, int day) {
@@ -100,58 +113,74 @@ public class ReportServiceImpl implements ReportService {
                 .build();
     }
 
+    // Sections open their own transactions; don't hold a connection idle on the calling thread meanwhile
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public MonthlyReport getMonthlyReport(int year, int month) {
         String monthKey = year + "-" + String.format("%02d", month);
         String monthName = Month.of(month).getDisplayName(TextStyle.FULL, Locale.ENGLISH);
         log.info("Generating monthly report for {} {}", monthName, year);
 
-        List<Group> allGroups = groupRepository.findAllWithTeacher();
-        List<Payment> monthPayments = paymentRepository.findByPaidForMonth(monthKey);
+        // Fixed number of set-based queries, independent of group and student counts. The sections share
+        // no state, so each runs concurrently in its own read-only transaction.
+        List<Group> allGroups;
+        Map<Long, GroupPaymentTotals> paymentTotals;
+        List<StudentPaymentStatus> unpaidStudentsList;
+        long studentsWhoPaid;
+        int totalActiveStudents;
+        Map<AttendanceStatus, Integer> statusCounts;
+
+        try (ReportSectionRunner.Scope scope = reportSectionRunner.open()) {
+            var groupsSection = scope.fork("groups", groupRepository::findAllWithTeacher);
+            // Per-group revenue comes from the group-month rollup: O(groups) rows instead of O(payments)
+            var paymentTotalsSection = scope.fork("payment-totals",
+                    () -> groupMonthStatsRepository.findByYearMonth(monthKey).stream()
+                            .collect(Collectors.toMap(
+                                    stats -> stats.getGroup().getId(),
+                                    stats -> new GroupPaymentTotals(
+                                            stats.getPaidAmount(),
+                                            stats.getPaymentCount(),
+                                            stats.getPaidStudentCount())
+                            )));
+            var unpaidSection = scope.fork("unpaid-students", () -> findUnpaidStudents(monthKey));
+            var paidCountSection = scope.fork("paid-count",
+                    () -> paymentRepository.countDistinctStudentsPaidInActiveGroups(monthKey));
+            var activeStudentsSection = scope.fork("active-students",
+                    () -> (int) studentGroupRepository.countDistinctActiveStudents());
+            // Present/absent totals are popcounts over the month's attendance bitsets
+            var attendanceSection = scope.fork("attendance",
+                    () -> countByStatus(attendanceMonthRepository.findMasksByYearMonth(monthKey)));
+            scope.join();
+
+            allGroups = groupsSection.get();
+            paymentTotals = paymentTotalsSection.get();
+            unpaidStudentsList = unpaidSection.get();
+            studentsWhoPaid = paidCountSection.get();
+            totalActiveStudents = activeStudentsSection.get();
+            statusCounts = attendanceSection.get();
+        }
 
         // Calculate expected and actual revenue per group
         List<GroupMonthlyStats> groupStats = new ArrayList<>();
-        Set<Long> studentsWhoPaid = new HashSet<>();
-        Set<Long> studentsWhoDidNotPay = new HashSet<>();
 
         BigDecimal totalExpected = BigDecimal.ZERO;
         BigDecimal totalActual = BigDecimal.ZERO;
 
         for (Group group : allGroups) {
-            List<StudentGroup> activeEnrollments = studentGroupRepository.findByGroupIdAndActiveTrue(group.getId());
-            int activeStudents = activeEnrollments.size();
+            int activeStudents = group.getActiveStudentCount();
 
             if (activeStudents == 0) continue;
 
             BigDecimal expectedForGroup = group.getMonthlyFee().multiply(BigDecimal.valueOf(activeStudents));
             totalExpected = totalExpected.add(expectedForGroup);
 
-            // Find payments for this group in this month
-            List<Payment> groupPayments = monthPayments.stream()
-                    .filter(p -> p.getGroup().getId().equals(group.getId()))
-                    .toList();
-
-            BigDecimal actualForGroup = groupPayments.stream()
-                    .map(Payment::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            GroupPaymentTotals totals = paymentTotals.getOrDefault(group.getId(), GroupPaymentTotals.EMPTY);
+            BigDecimal actualForGroup = totals.amount();
             totalActual = totalActual.add(actualForGroup);
 
-            Set<Long> paidStudentIds = groupPayments.stream()
-                    .map(p -> p.getStudent().getId())
-                    .collect(Collectors.toSet());
-
-            int paidCount = paidStudentIds.size();
+            int paidCount = totals.paidStudents();
             int unpaidCount = activeStudents - paidCount;
 
-            studentsWhoPaid.addAll(paidStudentIds);
-
-            // Track unpaid students
-            for (StudentGroup enrollment : activeEnrollments) {
-                if (!paidStudentIds.contains(enrollment.getStudent().getId())) {
-                    studentsWhoDidNotPay.add(enrollment.getStudent().getId());
-                }
-            }
-
             BigDecimal collectionRate = expectedForGroup.compareTo(BigDecimal.ZERO) > 0
                     ? actualForGroup.multiply(BigDecimal.valueOf(100))
                     .divide(expectedForGroup, 2, RoundingMode.HALF_UP)
@@ -172,57 +201,20 @@ public class ReportServiceImpl implements ReportService {
                     .build());
         }
 
-        // Build unpaid students list with details
-        List<StudentPaymentStatus> unpaidStudentsList = new ArrayList<>();
-        for (Group group : allGroups) {
-            List<StudentGroup> activeEnrollments = studentGroupRepository.findByGroupIdAndActiveTrue(group.getId());
-            Set<Long> paidForGroup = monthPayments.stream()
-                    .filter(p -> p.getGroup().getId().equals(group.getId()))
-                    .map(p -> p.getStudent().getId())
-                    .collect(Collectors.toSet());
-
-            for (StudentGroup enrollment : activeEnrollments) {
-                Student student = enrollment.getStudent();
-                if (!paidForGroup.contains(student.getId())) {
-                    unpaidStudentsList.add(StudentPaymentStatus.builder()
-                            .studentId(student.getId())
-                            .studentName(student.getFullName())
-                            .parentName(student.getParentName())
-                            .parentPhoneNumber(student.getParentPhoneNumber())
-                            .groupId(group.getId())
-                            .groupName(group.getName())
-                            .amountDue(group.getMonthlyFee())
-                            .hasPaid(false)
-                            .build());
-                }
-            }
-        }
+        int totalPayments = paymentTotals.values().stream()
+                .mapToInt(GroupPaymentTotals::paymentCount)
+                .sum();
 
-        // Attendance stats for the month
-        List<Attendance> monthAttendances = attendanceRepository.findByMonth(year, month);
-        int presentCount = (int) monthAttendances.stream()
-                .filter(a -> a.getStatus() == AttendanceStatus.PRESENT)
+        long studentsWhoDidNotPay = unpaidStudentsList.stream()
+                .map(StudentPaymentStatus::getStudentId)
+                .distinct()
                 .count();
-        int absentCount = (int) monthAttendances.stream()
-                .filter(a -> a.getStatus() == AttendanceStatus.ABSENT)
-                .count();
-
-        BigDecimal attendanceRate = (presentCount + absentCount) > 0
-                ? BigDecimal.valueOf(presentCount * 100.0 / (presentCount + absentCount))
-                .setScale(2, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
 
         BigDecimal overallCollectionRate = totalExpected.compareTo(BigDecimal.ZERO) > 0
                 ? totalActual.multiply(BigDecimal.valueOf(100))
                 .divide(totalExpected, 2, RoundingMode.HALF_UP)
                 : BigDecimal.ZERO;
 
-        int totalActiveStudents = studentGroupRepository.findAll().stream()
-                .filter(StudentGroup::getActive)
-                .map(sg -> sg.getStudent().getId())
-                .collect(Collectors.toSet())
-                .size();
-
         return MonthlyReport.builder()
                 .year(year)
                 .month(month)
@@ -232,130 +224,243 @@ public class ReportServiceImpl implements ReportService {
                 .expectedRevenue(totalExpected)
                 .actualRevenue(totalActual)
                 .collectionRate(overallCollectionRate)
-                .totalPayments(monthPayments.size())
-                .studentsWhoPaid(studentsWhoPaid.size())
-                .studentsWhoDidNotPay(studentsWhoDidNotPay.size())
+                .totalPayments(totalPayments)
+                .studentsWhoPaid((int) studentsWhoPaid)
+                .studentsWhoDidNotPay((int) studentsWhoDidNotPay)
                 .groupStats(groupStats)
                 .unpaidStudents(unpaidStudentsList)
-                .attendanceStats(AttendanceStats.builder()
-                        .totalPresent(presentCount)
-                        .totalAbsent(absentCount)
-                        .attendanceRate(attendanceRate)
-                        .build())
+                .attendanceStats(buildAttendanceStats(
+                        statusCounts.getOrDefault(AttendanceStatus.PRESENT, 0),
+                        statusCounts.getOrDefault(AttendanceStatus.ABSENT, 0)))
                 .build();
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public YearlyReport getYearlyReport(int year) {
         log.info("Generating yearly report for {}", year);
 
-        List<Payment> yearPayments = paymentRepository.findByYear(year);
-        BigDecimal totalRevenue = yearPayments.stream()
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<GroupMonthStats> yearStats;
+        List<Group> allGroups;
+        List<Teacher> teachers;
+        Map<AttendanceStatus, Integer> attendanceCounts;
+
+        try (ReportSectionRunner.Scope scope = reportSectionRunner.open()) {
+            // Everything revenue-related is read from the group-month rollup (at most 12 rows per group)
+            var yearStatsSection = scope.fork("year-stats", () -> groupMonthStatsRepository.findByYear(year));
+            var groupsSection = scope.fork("groups", groupRepository::findAllWithTeacher);
+            var teachersSection = scope.fork("teachers", teacherRepository::findAll);
+            var attendanceSection = scope.fork("attendance",
+                    () -> countByStatus(attendanceMonthRepository.findMasksByYear(year)));
+            scope.join();
+
+            yearStats = yearStatsSection.get();
+            allGroups = groupsSection.get();
+            teachers = teachersSection.get();
+            attendanceCounts = attendanceSection.get();
+        }
 
         // Monthly breakdown
+        BigDecimal[] monthRevenue = new BigDecimal[13];
+        int[] monthPaymentCount = new int[13];
+        Arrays.fill(monthRevenue, BigDecimal.ZERO);
+        for (GroupMonthStats stats : yearStats) {
+            int month = Integer.parseInt(stats.getYearMonth().substring(5, 7));
+            monthRevenue[month] = monthRevenue[month].add(stats.getPaidAmount());
+            monthPaymentCount[month] += stats.getPaymentCount();
+        }
+
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        int totalPayments = 0;
         List<MonthlyRevenueSummary> monthlyBreakdown = new ArrayList<>();
         for (int month = 1; month <= 12; month++) {
-            String monthKey = year + "-" + String.format("%02d", month);
-            List<Payment> monthPayments = yearPayments.stream()
-                    .filter(p -> p.getPaidForMonth().equals(monthKey))
-                    .toList();
-
-            BigDecimal monthRevenue = monthPayments.stream()
-                    .map(Payment::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            totalRevenue = totalRevenue.add(monthRevenue[month]);
+            totalPayments += monthPaymentCount[month];
 
             monthlyBreakdown.add(MonthlyRevenueSummary.builder()
                     .month(month)
                     .monthName(Month.of(month).getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
-                    .revenue(monthRevenue)
-                    .paymentCount(monthPayments.size())
+                    .revenue(monthRevenue[month])
+                    .paymentCount(monthPaymentCount[month])
                     .build());
         }
 
+        // Index groups by id -> teacher id once, then accumulate teacher and group totals
+        // in a single pass over the year's rollup rows
+        Map<Long, Long> teacherIdByGroupId = new HashMap<>();
+        Map<Long, RevenueAccumulator> teacherTotals = new HashMap<>();
+        Map<Long, RevenueAccumulator> groupTotals = new HashMap<>();
+
+        for (Group group : allGroups) {
+            groupTotals.put(group.getId(), new RevenueAccumulator());
+            if (group.getTeacher() == null) continue;
+
+            teacherIdByGroupId.put(group.getId(), group.getTeacher().getId());
+            RevenueAccumulator teacherTotal = teacherTotals.computeIfAbsent(
+                    group.getTeacher().getId(), id -> new RevenueAccumulator());
+            teacherTotal.groupCount++;
+            teacherTotal.studentCount += group.getActiveStudentCount();
+        }
+
+        for (GroupMonthStats stats : yearStats) {
+            Long groupId = stats.getGroup().getId();
+            RevenueAccumulator groupTotal = groupTotals.get(groupId);
+            if (groupTotal != null) {
+                groupTotal.add(stats.getPaidAmount(), stats.getPaymentCount());
+            }
+            Long teacherId = teacherIdByGroupId.get(groupId);
+            if (teacherId != null) {
+                teacherTotals.get(teacherId).add(stats.getPaidAmount(), stats.getPaymentCount());
+            }
+        }
+
         // Teacher stats
-        List<Teacher> teachers = teacherRepository.findAll();
         List<TeacherYearlyStats> teacherStats = teachers.stream()
                 .map(teacher -> {
-                    List<Group> teacherGroups = groupRepository.findByTeacherIdWithTeacher(teacher.getId());
-                    int totalStudents = teacherGroups.stream()
-                            .mapToInt(g -> studentGroupRepository.countActiveByGroupId(g.getId()))
-                            .sum();
-
-                    BigDecimal teacherRevenue = yearPayments.stream()
-                            .filter(p -> teacherGroups.stream()
-                                    .anyMatch(g -> g.getId().equals(p.getGroup().getId())))
-                            .map(Payment::getAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
+                    RevenueAccumulator total = teacherTotals.getOrDefault(teacher.getId(), new RevenueAccumulator());
                     return TeacherYearlyStats.builder()
                             .teacherId(teacher.getId())
                             .teacherName(teacher.getFullName())
-                            .groupCount(teacherGroups.size())
-                            .totalStudents(totalStudents)
-                            .totalRevenue(teacherRevenue)
+                            .groupCount(total.groupCount)
+                            .totalStudents(total.studentCount)
+                            .totalRevenue(total.revenue)
                             .build();
                 })
                 .sorted((a, b) -> b.getTotalRevenue().compareTo(a.getTotalRevenue()))
                 .toList();
 
-        // Top groups by revenue
-        List<Group> allGroups = groupRepository.findAllWithTeacher();
-        List<GroupYearlyStats> topGroups = allGroups.stream()
-                .map(group -> {
-                    List<Payment> groupPayments = yearPayments.stream()
-                            .filter(p -> p.getGroup().getId().equals(group.getId()))
-                            .toList();
-
-                    BigDecimal groupRevenue = groupPayments.stream()
-                            .map(Payment::getAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                    String teacherName = group.getTeacher() != null ? group.getTeacher().getFullName() : "Unassigned";
-
-                    return GroupYearlyStats.builder()
-                            .groupId(group.getId())
-                            .groupName(group.getName())
-                            .teacherName(teacherName)
-                            .totalRevenue(groupRevenue)
-                            .totalPayments(groupPayments.size())
-                            .build();
-                })
-                .sorted((a, b) -> b.getTotalRevenue().compareTo(a.getTotalRevenue()))
-                .limit(10)
-                .toList();
+        // Top groups by revenue, kept in a bounded min-heap instead of sorting every group
+        PriorityQueue<GroupYearlyStats> topGroupsHeap = new PriorityQueue<>(TOP_GROUPS_LIMIT + 1,
+                TOP_GROUP_ORDER.reversed());
+        for (Group group : allGroups) {
+            RevenueAccumulator total = groupTotals.get(group.getId());
+            String teacherName = group.getTeacher() != null ? group.getTeacher().getFullName() : "Unassigned";
 
-        // Yearly attendance stats
-        int totalPresent = 0;
-        int totalAbsent = 0;
-        for (int month = 1; month <= 12; month++) {
-            List<Attendance> monthAttendances = attendanceRepository.findByMonth(year, month);
-            totalPresent += (int) monthAttendances.stream()
-                    .filter(a -> a.getStatus() == AttendanceStatus.PRESENT)
-                    .count();
-            totalAbsent += (int) monthAttendances.stream()
-                    .filter(a -> a.getStatus() == AttendanceStatus.ABSENT)
-                    .count();
+            topGroupsHeap.offer(GroupYearlyStats.builder()
+                    .groupId(group.getId())
+                    .groupName(group.getName())
+                    .teacherName(teacherName)
+                    .totalRevenue(total.revenue)
+                    .totalPayments(total.paymentCount)
+                    .build());
+            if (topGroupsHeap.size() > TOP_GROUPS_LIMIT) {
+                topGroupsHeap.poll();
+            }
         }
-
-        BigDecimal attendanceRate = (totalPresent + totalAbsent) > 0
-                ? BigDecimal.valueOf(totalPresent * 100.0 / (totalPresent + totalAbsent))
-                .setScale(2, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
+        List<GroupYearlyStats> topGroups = topGroupsHeap.stream()
+                .sorted(TOP_GROUP_ORDER)
+                .toList();
 
         return YearlyReport.builder()
                 .year(year)
                 .totalRevenue(totalRevenue)
-                .totalPayments(yearPayments.size())
+                .totalPayments(totalPayments)
                 .monthlyBreakdown(monthlyBreakdown)
                 .teacherStats(teacherStats)
                 .topGroups(topGroups)
-                .attendanceStats(AttendanceStats.builder()
-                        .totalPresent(totalPresent)
-                        .totalAbsent(totalAbsent)
-                        .attendanceRate(attendanceRate)
+                .attendanceStats(buildAttendanceStats(
+                        attendanceCounts.getOrDefault(AttendanceStatus.PRESENT, 0),
+                        attendanceCounts.getOrDefault(AttendanceStatus.ABSENT, 0)))
+                .build();
+    }
+
+    @Override
+    public List<DailySeriesEntry> getDailySeries(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_SERIES_DAYS) {
+            throw new BadRequestException("Date range must not exceed " + MAX_SERIES_DAYS + " days");
+        }
+        log.info("Generating daily series from {} to {}", from, to);
+
+        // One grouped query per table for the whole range; 'to' is inclusive, queries are half-open
+        LocalDate end = to.plusDays(1);
+        Map<LocalDate, DailySeriesEntry> entries = new LinkedHashMap<>();
+        for (LocalDate date = from; date.isBefore(end); date = date.plusDays(1)) {
+            entries.put(date, DailySeriesEntry.builder()
+                    .date(date)
+                    .totalPaymentsReceived(BigDecimal.ZERO)
+                    .build());
+        }
+
+        for (Object[] row : attendanceRepository.countByDateAndStatusBetween(from, end)) {
+            DailySeriesEntry entry = entries.get((LocalDate) row[0]);
+            int count = ((Number) row[2]).intValue();
+            if (row[1] == AttendanceStatus.PRESENT) {
+                entry.setTotalStudentsPresent(count);
+            } else if (row[1] == AttendanceStatus.ABSENT) {
+                entry.setTotalStudentsAbsent(count);
+            }
+        }
+
+        for (Object[] row : paymentRepository.getDailyTotalsBetween(from.atStartOfDay(), end.atStartOfDay())) {
+            DailySeriesEntry entry = entries.get((LocalDate) row[0]);
+            entry.setTotalPaymentsReceived((BigDecimal) row[1]);
+            entry.setPaymentCount(((Number) row[2]).intValue());
+        }
+
+        return new ArrayList<>(entries.values());
+    }
+
+    private List<StudentPaymentStatus> findUnpaidStudents(String monthKey) {
+        return studentGroupRepository.findUnpaidActiveEnrollments(monthKey).stream()
+                .map(row -> StudentPaymentStatus.builder()
+                        .studentId((Long) row[0])
+                        .studentName((String) row[1])
+                        .parentName((String) row[2])
+                        .parentPhoneNumber((String) row[3])
+                        .groupId((Long) row[4])
+                        .groupName((String) row[5])
+                        .amountDue((BigDecimal) row[6])
+                        .hasPaid(false)
                         .build())
+                .toList();
+    }
+
+    private AttendanceStats buildAttendanceStats(int presentCount, int absentCount) {
+        BigDecimal attendanceRate = (presentCount + absentCount) > 0
+                ? BigDecimal.valueOf(presentCount * 100.0 / (presentCount + absentCount))
+                .setScale(2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        return AttendanceStats.builder()
+                .totalPresent(presentCount)
+                .totalAbsent(absentCount)
+                .attendanceRate(attendanceRate)
                 .build();
     }
-}
\ No newline at end of file
+
+    // Sums popcounts over (presentMask, recordedMask) rows
+    private static Map<AttendanceStatus, Integer> countByStatus(List<Object[]> masks) {
+        int present = 0;
+        int absent = 0;
+        for (Object[] row : masks) {
+            int presentMask = (Integer) row[0];
+            int recordedMask = (Integer) row[1];
+            present += AttendanceBits.presentCount(presentMask, recordedMask);
+            absent += AttendanceBits.absentCount(presentMask, recordedMask);
+        }
+        Map<AttendanceStatus, Integer> counts = new EnumMap<>(AttendanceStatus.class);
+        counts.put(AttendanceStatus.PRESENT, present);
+        counts.put(AttendanceStatus.ABSENT, absent);
+        return counts;
+    }
+
+    private record GroupPaymentTotals(BigDecimal amount, int paymentCount, int paidStudents) {
+        static final GroupPaymentTotals EMPTY = new GroupPaymentTotals(BigDecimal.ZERO, 0, 0);
+    }
+
+    private static class RevenueAccumulator {
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private int paymentCount;
+        private int groupCount;
+        private int studentCount;
+
+        void add(BigDecimal amount, int payments) {
+            revenue = revenue.add(amount);
+            paymentCount += payments;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import com.ogabek.CreativeLearningCenter.dto.request.GroupScheduleRequest;
+import com.ogabek.CreativeLearningCenter.dto.response.GroupScheduleResponse;
+import com.ogabek.CreativeLearningCenter.entity.Group;
+import com.ogabek.CreativeLearningCenter.entity.GroupSchedule;
+import com.ogabek.CreativeLearningCenter.exception.BadRequestException;
+import com.ogabek.CreativeLearningCenter.exception.ResourceNotFoundException;
+import com.ogabek.CreativeLearningCenter.mapper.GroupScheduleMapper;
+import com.ogabek.CreativeLearningCenter.repository.GroupRepository;
+import com.ogabek.CreativeLearningCenter.repository.GroupScheduleRepository;
+import com.ogabek.CreativeLearningCenter.repository.TeacherRepository;
+import com.ogabek.CreativeLearningCenter.schedule.ScheduleIndex;
+import com.ogabek.CreativeLearningCenter.service.ScheduleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Conflict checks and the "running now / on this date" lookups go through ScheduleIndex;
+// the database is only read for the slots that matched.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ScheduleServiceImpl implements ScheduleService {
+    
+    private final GroupScheduleRepository groupScheduleRepository;
+    private final GroupRepository groupRepository;
+    private final TeacherRepository teacherRepository;
+    private final ScheduleIndex scheduleIndex;
+    private final GroupScheduleMapper groupScheduleMapper;
+    
+    @Override
+    public GroupScheduleResponse create(GroupScheduleRequest request) {
+        log.info("Adding {} {}-{} to group {}", request.getDayOfWeek(), request.getStartTime(),
+                request.getEndTime(), request.getGroupId());
+        validateTimes(request);
+        
+        Group group = findGroupById(request.getGroupId());
+        GroupSchedule schedule = groupScheduleRepository.save(groupScheduleMapper.toEntity(request, group));
+        scheduleIndex.reserve(ScheduleIndex.Slot.of(schedule));
+        
+        return groupScheduleMapper.toResponse(schedule);
+    }
+    
+    @Override
+    public GroupScheduleResponse update(Long id, GroupScheduleRequest request) {
+        log.info("Updating schedule slot: {}", id);
+        validateTimes(request);
+        
+        GroupSchedule schedule = findScheduleById(id);
+        Group group = findGroupById(request.getGroupId());
+        
+        groupScheduleMapper.updateEntity(schedule, request, group);
+        schedule = groupScheduleRepository.save(schedule);
+        scheduleIndex.reserve(ScheduleIndex.Slot.of(schedule));
+        
+        return groupScheduleMapper.toResponse(schedule);
+    }
+    
+    @Override
+    public void delete(Long id) {
+        log.info("Deleting schedule slot: {}", id);
+        
+        GroupSchedule schedule = findScheduleById(id);
+        groupScheduleRepository.delete(schedule);
+        scheduleIndex.release(id);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<GroupScheduleResponse> getByGroupId(Long groupId) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResourceNotFoundException("Group", groupId);
+        }
+        return groupScheduleRepository.findResponsesByGroupId(groupId).stream()
+                .sorted(Comparator.comparing(GroupScheduleResponse::getDayOfWeek)
+                        .thenComparing(GroupScheduleResponse::getStartTime))
+                .toList();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<GroupScheduleResponse> getByTeacherId(Long teacherId) {
+        if (!teacherRepository.existsById(teacherId)) {
+            throw new ResourceNotFoundException("Teacher", teacherId);
+        }
+        return toResponses(scheduleIndex.ofTeacher(teacherId));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<GroupScheduleResponse> getByRoom(String room) {
+        return toResponses(scheduleIndex.ofRoom(room));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<GroupScheduleResponse> getRunningAt(LocalDateTime at) {
+        LocalDateTime time = at != null ? at : LocalDateTime.now();
+        return toResponses(scheduleIndex.runningAt(time.getDayOfWeek(), time.toLocalTime()));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<GroupScheduleResponse> getByDate(LocalDate date) {
+        return toResponses(scheduleIndex.onDay(date.getDayOfWeek()));
+    }
+    
+    // One IN query for the matched slots, returned in the index order
+    private List<GroupScheduleResponse> toResponses(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> position = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        return groupScheduleRepository.findResponsesByIdIn(ids).stream()
+                .sorted(Comparator.comparing(response -> position.get(response.getId())))
+                .toList();
+    }
+    
+    private static void validateTimes(GroupScheduleRequest request) {
+        if (!request.getEndTime().isAfter(request.getStartTime())) {
+            throw new BadRequestException("End time must be after start time");
+        }
+    }
+    
+    private Group findGroupById(Long id) {
+        return groupRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Group", id));
+    }
+    
+    private GroupSchedule findScheduleById(Long id) {
+        return groupScheduleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Schedule", id));
+    }
+}
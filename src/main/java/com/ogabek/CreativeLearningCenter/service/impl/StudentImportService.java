@@ -0,0 +1,247 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import com.ogabek.CreativeLearningCenter.dto.response.StudentImportResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.StudentImportResponse.RowError;
+import com.ogabek.CreativeLearningCenter.event.StudentsImportedEvent;
+import com.ogabek.CreativeLearningCenter.exception.BadRequestException;
+import com.ogabek.CreativeLearningCenter.mapper.StudentMapper;
+import com.ogabek.CreativeLearningCenter.repository.GroupRepository;
+import com.ogabek.CreativeLearningCenter.repository.StudentRepository;
+import com.ogabek.CreativeLearningCenter.util.CsvReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Pattern;
+
+// Bulk student import from CSV (header: fullName,parentName,parentPhoneNumber[,groupIds], group ids separated
+// by ';'). Rows are parsed one at a time and written in JDBC batches of BATCH_SIZE, bypassing the persistence
+// context. Students keep IDENTITY ids, so generated ids are resolved by smsLinkCode (unique) with one query per
+// batch before the enrollments of that batch are inserted. Invalid rows are reported and skipped.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class StudentImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_ROWS = 50_000;
+    private static final int MAX_REPORTED_ERRORS = 500;
+    private static final Pattern PHONE = Pattern.compile("^\\+998[0-9]{9}$");
+
+    private static final String INSERT_STUDENT =
+            "INSERT INTO students (full_name, parent_name, parent_phone_number, sms_link_code, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ENROLLMENT =
+            "INSERT INTO student_groups (student_id, group_id, active, enrolled_at, created_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StudentRepository studentRepository;
+    private final GroupRepository groupRepository;
+    private final ActiveStudentCountService activeStudentCountService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StudentImportResponse importCsv(InputStream in) {
+        long start = System.currentTimeMillis();
+        Set<Long> existingGroupIds = new HashSet<>(groupRepository.findAllIds());
+
+        Batch batch = new Batch();
+        List<RowError> errors = new ArrayList<>();
+        int totalRows = 0;
+        int failed = 0;
+
+        try (CsvReader reader = new CsvReader(in)) {
+            Columns columns = Columns.of(reader.readRow());
+
+            List<String> fields;
+            while ((fields = reader.readRow()) != null) {
+                if (++totalRows > MAX_ROWS) {
+                    throw new BadRequestException("Import is limited to " + MAX_ROWS + " rows per file");
+                }
+                try {
+                    batch.rows.add(parse(fields, columns, existingGroupIds));
+                } catch (IllegalArgumentException e) {
+                    failed++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new RowError(reader.getLine(), e.getMessage()));
+                    }
+                }
+                if (batch.rows.size() >= BATCH_SIZE) {
+                    flush(batch);
+                }
+            }
+            flush(batch);
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read CSV: " + e.getMessage());
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("Imported {} students and {} enrollments from {} rows ({} failed) in {} ms",
+                batch.imported, batch.enrollments, totalRows, failed, elapsed);
+        // One counter update per group rather than per enrollment
+        batch.enrollmentsByGroup.forEach(activeStudentCountService::adjust);
+        if (batch.imported > 0) {
+            eventPublisher.publishEvent(new StudentsImportedEvent(batch.imported, batch.enrollmentsByGroup.keySet()));
+        }
+
+        return StudentImportResponse.builder()
+                .totalRows(totalRows)
+                .imported(batch.imported)
+                .enrollments(batch.enrollments)
+                .failed(failed)
+                .errors(errors)
+                .errorsTruncated(failed > errors.size())
+                .elapsedMillis(elapsed)
+                .rowsPerSecond(totalRows * 1000L / Math.max(elapsed, 1))
+                .build();
+    }
+
+    private Row parse(List<String> fields, Columns columns, Set<Long> existingGroupIds) {
+        String fullName = columns.value(fields, columns.fullName);
+        String parentName = columns.value(fields, columns.parentName);
+        String phone = columns.value(fields, columns.parentPhoneNumber);
+
+        if (fullName.isEmpty()) {
+            throw new IllegalArgumentException("Full name is required");
+        }
+        if (parentName.isEmpty()) {
+            throw new IllegalArgumentException("Parent name is required");
+        }
+        if (!PHONE.matcher(phone).matches()) {
+            throw new IllegalArgumentException("Phone number must be in format +998XXXXXXXXX");
+        }
+
+        Set<Long> groupIds = new LinkedHashSet<>();
+        for (String token : columns.value(fields, columns.groupIds).split("[;\\s]+")) {
+            if (token.isEmpty()) continue;
+            long groupId;
+            try {
+                groupId = Long.parseLong(token);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid group id: " + token);
+            }
+            if (!existingGroupIds.contains(groupId)) {
+                throw new IllegalArgumentException("Group not found with id: " + groupId);
+            }
+            groupIds.add(groupId);
+        }
+
+        return new Row(fullName, parentName, phone, groupIds);
+    }
+
+    private void flush(Batch batch) {
+        if (batch.rows.isEmpty()) {
+            return;
+        }
+        List<Row> rows = batch.rows;
+        Map<String, Row> byCode = assignCodes(rows);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_STUDENT, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setString(1, row.fullName);
+            ps.setString(2, row.parentName);
+            ps.setString(3, row.parentPhoneNumber);
+            ps.setString(4, row.smsLinkCode);
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+
+        List<Object[]> enrollments = new ArrayList<>();
+        if (rows.stream().anyMatch(row -> !row.groupIds.isEmpty())) {
+            Date today = Date.valueOf(LocalDate.now());
+            for (Object[] idRow : studentRepository.findIdsBySmsLinkCodeIn(byCode.keySet())) {
+                Row row = byCode.get((String) idRow[0]);
+                for (Long groupId : row.groupIds) {
+                    enrollments.add(new Object[]{idRow[1], groupId, true, today, now});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_ENROLLMENT, enrollments);
+            rows.forEach(row -> row.groupIds.forEach(
+                    groupId -> batch.enrollmentsByGroup.merge(groupId, 1, Integer::sum)));
+        }
+
+        batch.imported += rows.size();
+        batch.enrollments += enrollments.size();
+        rows.clear();
+    }
+
+    // Generates codes like create() does; the rare clash with an existing student is regenerated
+    private Map<String, Row> assignCodes(List<Row> rows) {
+        Map<String, Row> byCode = new HashMap<>();
+        List<Row> pending = rows;
+        while (!pending.isEmpty()) {
+            List<String> generated = new ArrayList<>();
+            for (Row row : pending) {
+                String code;
+                do {
+                    code = StudentMapper.newSmsLinkCode();
+                } while (byCode.containsKey(code));
+                row.smsLinkCode = code;
+                byCode.put(code, row);
+                generated.add(code);
+            }
+
+            List<Row> clashes = new ArrayList<>();
+            for (Object[] existing : studentRepository.findIdsBySmsLinkCodeIn(generated)) {
+                clashes.add(byCode.remove((String) existing[0]));
+            }
+            pending = clashes;
+        }
+        return byCode;
+    }
+
+    private static final class Batch {
+        private final List<Row> rows = new ArrayList<>(BATCH_SIZE);
+        private final Map<Long, Integer> enrollmentsByGroup = new HashMap<>();
+        private int imported;
+        private int enrollments;
+    }
+
+    private static final class Row {
+        private final String fullName;
+        private final String parentName;
+        private final String parentPhoneNumber;
+        private final Set<Long> groupIds;
+        private String smsLinkCode;
+
+        Row(String fullName, String parentName, String parentPhoneNumber, Set<Long> groupIds) {
+            this.fullName = fullName;
+            this.parentName = parentName;
+            this.parentPhoneNumber = parentPhoneNumber;
+            this.groupIds = groupIds;
+        }
+    }
+
+    // Header positions, matched case-insensitively so columns may come in any order
+    private record Columns(int fullName, int parentName, int parentPhoneNumber, int groupIds) {
+
+        static Columns of(List<String> header) {
+            if (header == null) {
+                throw new BadRequestException("CSV file is empty");
+            }
+            List<String> names = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+            Columns columns = new Columns(names.indexOf("fullname"), names.indexOf("parentname"),
+                    names.indexOf("parentphonenumber"), names.indexOf("groupids"));
+            if (columns.fullName < 0 || columns.parentName < 0 || columns.parentPhoneNumber < 0) {
+                throw new BadRequestException(
+                        "CSV header must contain fullName, parentName and parentPhoneNumber columns");
+            }
+            return columns;
+        }
+
+        String value(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index).trim() : "";
+        }
+    }
+}
@@ -1,23 +1,37 @@
 package com.ogabek.CreativeLearningCenter.service.impl;
 
 import com.ogabek.CreativeLearningCenter.dto.request.StudentRequest;
+import com.ogabek.CreativeLearningCenter.dto.response.StudentPageResponse;
+import com.ogabek.CreativeLearningCenter.dto.response.StudentProfileResponse;
 import com.ogabek.CreativeLearningCenter.dto.response.StudentResponse;
+import com.ogabek.CreativeLearningCenter.entity.Attendance;
+import com.ogabek.CreativeLearningCenter.entity.AttendanceStatus;
+import com.ogabek.CreativeLearningCenter.entity.Payment;
 import com.ogabek.CreativeLearningCenter.entity.Student;
 import com.ogabek.CreativeLearningCenter.entity.StudentGroup;
+import com.ogabek.CreativeLearningCenter.event.StudentChangedEvent;
+import com.ogabek.CreativeLearningCenter.event.StudentCreatedEvent;
+import com.ogabek.CreativeLearningCenter.exception.BadRequestException;
 import com.ogabek.CreativeLearningCenter.exception.ResourceNotFoundException;
+import com.ogabek.CreativeLearningCenter.mapper.AttendanceMapper;
+import com.ogabek.CreativeLearningCenter.mapper.PaymentMapper;
+import com.ogabek.CreativeLearningCenter.mapper.PaymentStatusProvider;
+import com.ogabek.CreativeLearningCenter.mapper.PaymentStatusProvider.PaidAmounts;
+import com.ogabek.CreativeLearningCenter.mapper.StudentGroupMapper;
 import com.ogabek.CreativeLearningCenter.mapper.StudentMapper;
 import com.ogabek.CreativeLearningCenter.repository.*;
 import com.ogabek.CreativeLearningCenter.service.StudentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,12 +40,20 @@ import java.util.stream.Collectors;
 @Transactional
 public class StudentServiceImpl implements StudentService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final StudentRepository studentRepository;
     private final StudentGroupRepository studentGroupRepository;
     private final GroupRepository groupRepository;
     private final PaymentRepository paymentRepository;
     private final AttendanceRepository attendanceRepository;
     private final StudentMapper studentMapper;
+    private final StudentGroupMapper studentGroupMapper;
+    private final PaymentMapper paymentMapper;
+    private final AttendanceMapper attendanceMapper;
+    private final PaymentStatusProvider paymentStatusProvider;
+    private final CascadeDeletionService cascadeDeletionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public StudentResponse create(StudentRequest request) {
@@ -39,9 +61,10 @@ public class StudentServiceImpl implements StudentService {
 
         Student student = studentMapper.toEntity(request);
         // Generate a unique code for reference
-        student.setSmsLinkCode("STU-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        student.setSmsLinkCode(StudentMapper.newSmsLinkCode());
 
         student = studentRepository.save(student);
+        eventPublisher.publishEvent(new StudentCreatedEvent(student.getId()));
         log.info("Student created with id: {}", student.getId());
 
         return studentMapper.toResponse(student, BigDecimal.ZERO, List.of(), null, null);
@@ -56,6 +79,41 @@ public class StudentServiceImpl implements StudentService {
         return studentMapper.toResponse(student, totalPaid, activeGroups, null, null);
     }
 
+    // Five queries regardless of history size: student, enrollments, payments, this month's attendance and
+    // this month's paid amounts. Associations come from entity graphs; the student itself is already managed.
+    @Override
+    @Transactional(readOnly = true)
+    public StudentProfileResponse getProfile(Long id) {
+        Student student = findStudentById(id);
+        List<StudentGroup> enrollments = studentGroupRepository.findByStudentId(id);
+        List<Payment> payments = paymentRepository.findByStudentIdOrderByPaidAtDesc(id);
+        YearMonth month = YearMonth.now();
+        List<Attendance> attendance = attendanceRepository.findByStudentIdAndMonth(
+                id, month.getYear(), month.getMonthValue());
+
+        BigDecimal totalPaid = payments.stream()
+                .map(Payment::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<StudentGroup> activeGroups = enrollments.stream()
+                .filter(StudentGroup::getActive)
+                .toList();
+        PaidAmounts paidAmounts = paymentStatusProvider.forStudents(
+                PaymentStatusProvider.monthKey(month.getYear(), month.getMonthValue()), List.of(id));
+        int present = (int) attendance.stream()
+                .filter(a -> a.getStatus() == AttendanceStatus.PRESENT)
+                .count();
+
+        return StudentProfileResponse.builder()
+                .student(studentMapper.toResponse(student, totalPaid, activeGroups, paidAmounts))
+                .enrollments(enrollments.stream().map(studentGroupMapper::toResponse).toList())
+                .payments(payments.stream().map(paymentMapper::toResponse).toList())
+                .attendanceMonth(month.toString())
+                .attendance(attendance.stream().map(attendanceMapper::toResponse).toList())
+                .presentCount(present)
+                .absentCount(attendance.size() - present)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<StudentResponse> getAll() {
@@ -74,6 +132,9 @@ public class StudentServiceImpl implements StudentService {
                 ));
         log.info("Fetched payment totals for {} students", paymentTotals.size());
 
+        // Fetch this month's paid amount per (student, group) in ONE query
+        PaidAmounts paidAmounts = paymentStatusProvider.forMonth(PaymentStatusProvider.monthKey(null, null));
+
         // Map to responses efficiently
         return students.stream()
                 .map(student -> {
@@ -82,7 +143,7 @@ public class StudentServiceImpl implements StudentService {
                     List<StudentGroup> activeGroups = student.getStudentGroups().stream()
                             .filter(StudentGroup::getActive)
                             .toList();
-                    return studentMapper.toResponse(student, totalPaid, activeGroups, null, null);
+                    return studentMapper.toResponse(student, totalPaid, activeGroups, paidAmounts);
                 })
                 .toList();
     }
@@ -109,17 +170,37 @@ public class StudentServiceImpl implements StudentService {
         log.info("Fetching students for group {} with payment check for {}-{}", 
                 groupId, finalYear, finalMonth);
 
-        // Get students enrolled in this group via StudentGroup junction table
-        List<StudentGroup> enrollments = studentGroupRepository.findByGroupIdAndActiveTrue(groupId);
+        // Roster from four set-based queries (group check included) regardless of group size
+        List<Student> students = studentRepository.findActiveInGroupWithGroups(groupId);
+        return toResponses(students, PaymentStatusProvider.monthKey(finalYear, finalMonth));
+    }
 
-        return enrollments.stream()
-                .map(enrollment -> {
-                    Student student = enrollment.getStudent();
-                    BigDecimal totalPaid = paymentRepository.getTotalPaidByStudentId(student.getId());
-                    List<StudentGroup> activeGroups = studentGroupRepository.findByStudentIdAndActiveTrue(student.getId());
-                    return studentMapper.toResponse(student, totalPaid, activeGroups, finalYear, finalMonth);
-                })
-                .toList();
+    @Override
+    @Transactional(readOnly = true)
+    public StudentPageResponse getPage(StudentFilter filter, Long cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // Fetch one extra id to know whether another page follows
+        List<Long> ids = studentRepository.findPageIds(filter, cursor, size + 1);
+        boolean hasMore = ids.size() > size;
+        if (hasMore) {
+            ids = ids.subList(0, size);
+        }
+        if (ids.isEmpty()) {
+            return StudentPageResponse.builder().items(List.of()).size(0).build();
+        }
+
+        // Three more queries for the page, independent of page size
+        String month = filter.paidMonth() != null ? filter.paidMonth() : PaymentStatusProvider.monthKey(null, null);
+        List<StudentResponse> items = toResponses(studentRepository.findAllWithGroupsByIdIn(ids), month);
+
+        return StudentPageResponse.builder()
+                .items(items)
+                .nextCursor(hasMore ? ids.get(ids.size() - 1) : null)
+                .size(items.size())
+                .build();
     }
 
     @Override
@@ -130,6 +211,7 @@ public class StudentServiceImpl implements StudentService {
         studentMapper.updateEntity(student, request);
 
         student = studentRepository.save(student);
+        eventPublisher.publishEvent(new StudentChangedEvent(id));
         BigDecimal totalPaid = paymentRepository.getTotalPaidByStudentId(id);
         List<StudentGroup> activeGroups = studentGroupRepository.findByStudentIdAndActiveTrue(id);
 
@@ -139,43 +221,32 @@ public class StudentServiceImpl implements StudentService {
     @Override
     public void delete(Long id) {
         log.info("Deleting student {} with all related data", id);
+        cascadeDeletionService.deleteStudent(id);
+    }
 
-        Student student = findStudentById(id);
-
-        // Delete all related data in correct order to avoid foreign key conflicts
-        // The Student entity has cascade=CascadeType.ALL and orphanRemoval=true,
-        // but we'll manually delete to ensure proper ordering and logging
-
-        // 1. Delete attendance records first (they reference student and group)
-        log.info("Deleting attendance records for student {}", id);
-        int attendanceCount = attendanceRepository.findByStudentId(id).size();
-        attendanceRepository.findByStudentId(id).forEach(attendanceRepository::delete);
-        log.info("Deleted {} attendance records for student {}", attendanceCount, id);
-
-        // 2. Delete payments (they reference student and group)
-        log.info("Deleting payments for student {}", id);
-        List<Long> paymentIds = paymentRepository.findByStudentId(id)
+    // Students must have studentGroups, groups and teachers fetched; adds two grouped queries for the whole list
+    private List<StudentResponse> toResponses(List<Student> students, String month) {
+        if (students.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = students.stream().map(Student::getId).toList();
+        Map<Long, BigDecimal> paymentTotals = paymentRepository.getTotalPaidGroupedByStudent(ids)
                 .stream()
-                .map(payment -> payment.getId())
-                .toList();
-
-        paymentIds.forEach(paymentRepository::deleteById);
-        log.info("Deleted {} payments for student {}", paymentIds.size(), id);
+                .collect(Collectors.toMap(
+                        arr -> (Long) arr[0],
+                        arr -> (BigDecimal) arr[1]
+                ));
+        PaidAmounts paidAmounts = paymentStatusProvider.forStudents(month, ids);
 
-        // 3. Delete student-group enrollments (they reference student and group)
-        log.info("Deleting enrollments for student {}", id);
-        List<Long> enrollmentIds = studentGroupRepository.findByStudentId(id)
-                .stream()
-                .map(StudentGroup::getId)
+        return students.stream()
+                .map(student -> {
+                    List<StudentGroup> activeGroups = student.getStudentGroups().stream()
+                            .filter(StudentGroup::getActive)
+                            .toList();
+                    return studentMapper.toResponse(student,
+                            paymentTotals.getOrDefault(student.getId(), BigDecimal.ZERO), activeGroups, paidAmounts);
+                })
                 .toList();
-
-        enrollmentIds.forEach(studentGroupRepository::deleteById);
-        log.info("Deleted {} enrollments for student {}", enrollmentIds.size(), id);
-
-        // 4. Finally delete the student
-        studentRepository.delete(student);
-
-        log.info("Student {} and all related data deleted successfully", id);
     }
 
     private Student findStudentById(Long id) {
@@ -3,15 +3,16 @@ package com.ogabek.CreativeLearningCenter.service.impl;
 import com.ogabek.CreativeLearningCenter.dto.request.TeacherRequest;
 import com.ogabek.CreativeLearningCenter.dto.response.TeacherResponse;
 import com.ogabek.CreativeLearningCenter.entity.Teacher;
+import com.ogabek.CreativeLearningCenter.event.TeacherChangedEvent;
 import com.ogabek.CreativeLearningCenter.exception.BadRequestException;
 import com.ogabek.CreativeLearningCenter.exception.ResourceNotFoundException;
 import com.ogabek.CreativeLearningCenter.mapper.TeacherMapper;
 import com.ogabek.CreativeLearningCenter.repository.GroupRepository;
-import com.ogabek.CreativeLearningCenter.repository.PaymentRepository;
 import com.ogabek.CreativeLearningCenter.repository.TeacherRepository;
 import com.ogabek.CreativeLearningCenter.service.TeacherService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,8 +27,8 @@ public class TeacherServiceImpl implements TeacherService {
     
     private final TeacherRepository teacherRepository;
     private final GroupRepository groupRepository;
-    private final PaymentRepository paymentRepository;
     private final TeacherMapper teacherMapper;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public TeacherResponse create(TeacherRequest request) {
@@ -35,6 +36,7 @@ public class TeacherServiceImpl implements TeacherService {
         
         Teacher teacher = teacherMapper.toEntity(request);
         teacher = teacherRepository.save(teacher);
+        eventPublisher.publishEvent(new TeacherChangedEvent(teacher.getId()));
         
         log.info("Teacher created with id: {}", teacher.getId());
         return teacherMapper.toResponse(teacher, BigDecimal.ZERO);
@@ -42,20 +44,17 @@ public class TeacherServiceImpl implements TeacherService {
     
     @Override
     @Transactional(readOnly = true)
-    public TeacherResponse getById(Long id) {
-        Teacher teacher = findTeacherById(id);
-        BigDecimal totalIncome = calculateTotalIncome(id);
-        return teacherMapper.toResponse(teacher, totalIncome);
+    public TeacherResponse getById(Long id, Integer year, Integer month) {
+        String period = incomePeriod(year, month);
+        return toResponse(findTeacherWithIncome(id, period), period);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<TeacherResponse> getAll() {
-        return teacherRepository.findAll().stream()
-                .map(teacher -> {
-                    BigDecimal totalIncome = calculateTotalIncome(teacher.getId());
-                    return teacherMapper.toResponse(teacher, totalIncome);
-                })
+    public List<TeacherResponse> getAll(Integer year, Integer month) {
+        String period = incomePeriod(year, month);
+        return teacherRepository.findAllWithIncome(monthPattern(period)).stream()
+                .map(row -> toResponse(row, period))
                 .toList();
     }
     
@@ -65,10 +64,10 @@ public class TeacherServiceImpl implements TeacherService {
         
         Teacher teacher = findTeacherById(id);
         teacherMapper.updateEntity(teacher, request);
-        teacher = teacherRepository.save(teacher);
+        teacherRepository.save(teacher);
+        eventPublisher.publishEvent(new TeacherChangedEvent(id));
         
-        BigDecimal totalIncome = calculateTotalIncome(id);
-        return teacherMapper.toResponse(teacher, totalIncome);
+        return toResponse(findTeacherWithIncome(id, null), null);
     }
     
     @Override
@@ -77,11 +76,12 @@ public class TeacherServiceImpl implements TeacherService {
         
         Teacher teacher = findTeacherById(id);
         
-        if (!groupRepository.findByTeacherId(id).isEmpty()) {
+        if (groupRepository.existsByTeacherId(id)) {
             throw new BadRequestException("Cannot delete teacher with assigned groups");
         }
         
         teacherRepository.delete(teacher);
+        eventPublisher.publishEvent(new TeacherChangedEvent(id));
         log.info("Teacher deleted: {}", id);
     }
     
@@ -90,9 +90,43 @@ public class TeacherServiceImpl implements TeacherService {
                 .orElseThrow(() -> new ResourceNotFoundException("Teacher", id));
     }
     
-    private BigDecimal calculateTotalIncome(Long teacherId) {
-        return groupRepository.findByTeacherId(teacherId).stream()
-                .map(group -> paymentRepository.getTotalPaidByGroupId(group.getId()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    // Income is read from the group-month rollup in the same statement as the teacher
+    private Object[] findTeacherWithIncome(Long id, String period) {
+        List<Object[]> rows = teacherRepository.findByIdWithIncome(id, monthPattern(period));
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Teacher", id);
+        }
+        return rows.get(0);
+    }
+    
+    private TeacherResponse toResponse(Object[] row, String period) {
+        return teacherMapper.toResponse((Teacher) row[0], (BigDecimal) row[1], period);
+    }
+    
+    // "2025" or "2025-03" (paidForMonth format); null for all time
+    private static String incomePeriod(Integer year, Integer month) {
+        if (year == null) {
+            if (month != null) {
+                throw new BadRequestException("Year is required when month is given");
+            }
+            return null;
+        }
+        if (year < 1000 || year > 9999) {
+            throw new BadRequestException("Year must have four digits");
+        }
+        if (month == null) {
+            return String.valueOf(year);
+        }
+        if (month < 1 || month > 12) {
+            throw new BadRequestException("Month must be between 1 and 12");
+        }
+        return year + "-" + String.format("%02d", month);
+    }
+    
+    private static String monthPattern(String period) {
+        if (period == null) {
+            return "%";
+        }
+        return period.length() == 4 ? period + "-%" : period;
     }
 }
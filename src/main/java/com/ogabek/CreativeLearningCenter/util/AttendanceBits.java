@@ -0,0 +1,52 @@
+package com.ogabek.CreativeLearningCenter.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Encoding for AttendanceMonth masks: day d of the month is bit (d - 1), so a month fits in 31 bits
+public final class AttendanceBits {
+
+    public static final int MAX_DAY = 31;
+
+    private AttendanceBits() {
+    }
+
+    public static int bit(int day) {
+        if (day < 1 || day > MAX_DAY) {
+            throw new IllegalArgumentException("Day must be between 1 and " + MAX_DAY + ": " + day);
+        }
+        return 1 << (day - 1);
+    }
+
+    public static boolean isSet(int mask, int day) {
+        return (mask & bit(day)) != 0;
+    }
+
+    public static int set(int mask, int day, boolean value) {
+        return value ? mask | bit(day) : mask & ~bit(day);
+    }
+
+    public static int presentCount(int presentMask, int recordedMask) {
+        return Integer.bitCount(presentMask & recordedMask);
+    }
+
+    public static int absentCount(int presentMask, int recordedMask) {
+        return Integer.bitCount(recordedMask & ~presentMask);
+    }
+
+    // Days of the month whose bit is set, in ascending order
+    public static List<Integer> days(int mask) {
+        List<Integer> days = new ArrayList<>(Integer.bitCount(mask));
+        int remaining = mask;
+        while (remaining != 0) {
+            days.add(Integer.numberOfTrailingZeros(remaining) + 1);
+            remaining &= remaining - 1;
+        }
+        return days;
+    }
+
+    public static String yearMonth(LocalDate date) {
+        return String.format("%d-%02d", date.getYear(), date.getMonthValue());
+    }
+}
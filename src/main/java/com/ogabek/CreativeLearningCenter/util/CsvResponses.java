@@ -0,0 +1,47 @@
+package com.ogabek.CreativeLearningCenter.util;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+public final class CsvResponses {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType APPLICATION_GZIP = new MediaType("application", "gzip");
+
+    @FunctionalInterface
+    public interface CsvBody {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private CsvResponses() {
+    }
+
+    // Wraps a CSV writer in a streamed attachment response, optionally gzip-compressed
+    public static ResponseEntity<StreamingResponseBody> attachment(String baseName, boolean gzip, CsvBody body) {
+        String fileName = gzip ? baseName + ".csv.gz" : baseName + ".csv";
+
+        StreamingResponseBody stream = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                body.writeTo(gzipOut);
+                gzipOut.finish();
+            } else {
+                body.writeTo(out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(gzip ? APPLICATION_GZIP : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(stream);
+    }
+}
@@ -0,0 +1,53 @@
+package com.ogabek.CreativeLearningCenter.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+// Minimal RFC 4180 writer: fields containing separators, quotes or line breaks are quoted
+public class CsvWriter implements Closeable {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private final Writer writer;
+    private int rowsSinceFlush;
+
+    public CsvWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    public void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(values[i]);
+        }
+        writer.write("\r\n");
+
+        // Push rows to the client regularly instead of waiting for the buffer to fill
+        if (++rowsSinceFlush >= FLUSH_EVERY_ROWS) {
+            writer.flush();
+            rowsSinceFlush = 0;
+        }
+    }
+
+    // Flushes without closing the underlying stream, which stays owned by the caller
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
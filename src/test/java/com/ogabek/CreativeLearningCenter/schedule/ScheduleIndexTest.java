@@ -0,0 +1,221 @@
+package com.ogabek.CreativeLearningCenter.schedule;
+
+import com.ogabek.CreativeLearningCenter.exception.BadRequestException;
+import com.ogabek.CreativeLearningCenter.repository.GroupScheduleRepository;
+import com.ogabek.CreativeLearningCenter.schedule.ScheduleIndex.Slot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.time.DayOfWeek.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_COMMITTED;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_ROLLED_BACK;
+
+// Transactions are simulated with TransactionSynchronizationManager: begin() activates synchronization on the
+// current thread and complete() runs the registered afterCompletion callbacks, as the transaction manager would.
+// A concurrent transaction runs on its own thread, since synchronization state is thread-bound
+class ScheduleIndexTest {
+
+    private ScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ScheduleIndex(mock(GroupScheduleRepository.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(STATUS_ROLLED_BACK);
+        }
+    }
+
+    @Test
+    void overlappingSlotOfSameTeacherIsRejected() {
+        index.reserve(slot(1, 10, 100, MONDAY, "10:00", "11:00", "A"));
+
+        assertThatThrownBy(() -> index.reserve(slot(2, 11, 100, MONDAY, "10:30", "11:30", "B")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Teacher is already booked on MONDAY 10:00-11:00 (group 10)");
+        assertThatThrownBy(() -> index.reserve(slot(3, 12, 100, MONDAY, "09:30", "10:01", null)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageStartingWith("Teacher is already booked");
+
+        assertThat(index.ofTeacher(100L)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void overlappingSlotInSameRoomIsRejected() {
+        index.reserve(slot(1, 10, 100, MONDAY, "10:00", "11:00", "Room 1"));
+
+        assertThatThrownBy(() -> index.reserve(slot(2, 11, 200, MONDAY, "10:15", "10:45", " room 1 ")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("is already booked on MONDAY 10:00-11:00");
+
+        // Another room, or no room at all, does not conflict
+        index.reserve(slot(3, 11, 200, MONDAY, "10:15", "10:45", "Room 2"));
+        index.reserve(slot(4, 12, 300, MONDAY, "10:15", "10:45", null));
+        assertThat(index.ofRoom("ROOM 1")).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void adjacentSlotsAreAccepted() {
+        index.reserve(slot(1, 10, 100, MONDAY, "10:00", "11:00", "A"));
+        index.reserve(slot(2, 11, 100, MONDAY, "11:00", "12:00", "A"));
+        index.reserve(slot(3, 12, 100, MONDAY, "09:00", "10:00", "A"));
+        index.reserve(slot(4, 13, 100, TUESDAY, "10:00", "11:00", "A"));
+
+        assertThat(index.ofTeacher(100L)).containsExactly(3L, 1L, 2L, 4L);
+        assertThat(index.ofRoom("a")).containsExactly(3L, 1L, 2L, 4L);
+    }
+
+    @Test
+    void rollbackRestoresPreviousSlot() {
+        index.reserve(slot(1, 10, 100, MONDAY, "10:00", "11:00", "A"));
+        index.reserve(slot(2, 11, 200, WEDNESDAY, "10:00", "11:00", "B"));
+
+        begin();
+        index.reserve(slot(1, 10, 100, MONDAY, "14:00", "15:00", "C"));
+        index.reserve(slot(3, 10, 100, FRIDAY, "10:00", "11:00", "A"));
+        index.release(2L);
+        assertThat(index.runningAt(MONDAY, LocalTime.parse("14:30"))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(2);
+        complete(STATUS_ROLLED_BACK);
+
+        assertThat(index.runningAt(MONDAY, LocalTime.parse("10:30"))).containsExactly(1L);
+        assertThat(index.runningAt(MONDAY, LocalTime.parse("14:30"))).isEmpty();
+        assertThat(index.ofRoom("A")).containsExactly(1L);
+        assertThat(index.ofRoom("B")).containsExactly(2L);
+        assertThat(index.ofRoom("C")).isEmpty();
+        assertThat(index.lessonDays(10L)).containsExactly(MONDAY);
+        assertThat(index.size()).isEqualTo(2);
+
+        // The restored slot belongs to nobody's transaction any more
+        begin();
+        index.reserve(slot(1, 10, 100, MONDAY, "16:00", "17:00", "A"));
+        complete(STATUS_COMMITTED);
+        assertThat(index.runningAt(MONDAY, LocalTime.parse("16:30"))).containsExactly(1L);
+    }
+
+    @Test
+    void concurrentTransactionCannotBookTimeFreedByUncommittedMove() throws Exception {
+        index.reserve(slot(1, 10, 100, MONDAY, "10:00", "11:00", "A"));
+
+        begin();
+        index.reserve(slot(1, 10, 100, MONDAY, "14:00", "15:00", "A"));
+
+        RuntimeException sameTeacher = inOtherTransaction(
+                () -> index.reserve(slot(2, 11, 100, MONDAY, "10:00", "11:00", "B")));
+        RuntimeException sameRoom = inOtherTransaction(
+                () -> index.reserve(slot(3, 12, 200, MONDAY, "10:30", "11:30", "a")));
+        RuntimeException sameSlot = inOtherTransaction(() -> index.release(1L));
+        assertThat(sameTeacher).isInstanceOf(BadRequestException.class)
+                .hasMessageStartingWith("Teacher is already booked on MONDAY 10:00-11:00");
+        assertThat(sameRoom).isInstanceOf(BadRequestException.class)
+                .hasMessageStartingWith("Room a is already booked on MONDAY 10:00-11:00");
+        assertThat(sameSlot).isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("is being changed by another request");
+
+        // The moving transaction itself may use the freed time
+        index.reserve(slot(4, 10, 100, MONDAY, "10:00", "11:00", "A"));
+        complete(STATUS_COMMITTED);
+
+        assertThat(inOtherTransaction(() -> index.reserve(slot(5, 11, 100, MONDAY, "11:00", "12:00", "B"))))
+                .isNull();
+        assertThat(index.ofTeacher(100L)).containsExactly(4L, 5L, 1L);
+    }
+
+    @Test
+    void reassignTeacherRollsBackOnConflict() {
+        index.reserve(slot(1, 10, 100, MONDAY, "10:00", "11:00", null));
+        index.reserve(slot(2, 10, 100, WEDNESDAY, "10:00", "11:00", null));
+        index.reserve(slot(3, 20, 200, WEDNESDAY, "10:30", "11:30", null));
+
+        assertThatThrownBy(() -> index.reassignTeacher(10L, 200L))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Teacher is already booked on WEDNESDAY 10:30-11:30 (group 20)");
+        assertThat(index.ofTeacher(100L)).containsExactly(1L, 2L);
+        assertThat(index.ofTeacher(200L)).containsExactly(3L);
+
+        // A successful move is undone when its transaction rolls back
+        begin();
+        index.reassignTeacher(10L, 300L);
+        assertThat(index.ofTeacher(300L)).containsExactly(1L, 2L);
+        assertThat(index.ofTeacher(100L)).isEmpty();
+        complete(STATUS_ROLLED_BACK);
+
+        assertThat(index.ofTeacher(100L)).containsExactly(1L, 2L);
+        assertThat(index.ofTeacher(300L)).isEmpty();
+    }
+
+    @Test
+    void runningAtFindsLessonsThatStartedUpToLongestLessonBefore() {
+        index.reserve(slot(1, 10, 100, MONDAY, "08:00", "12:00", null));
+        index.reserve(slot(2, 11, 200, MONDAY, "10:00", "10:45", null));
+        index.reserve(slot(3, 12, 300, MONDAY, "11:30", "12:30", null));
+        index.reserve(slot(4, 13, 400, SUNDAY, "08:00", "12:00", null));
+
+        assertThat(index.runningAt(MONDAY, LocalTime.parse("08:00"))).containsExactly(1L);
+        assertThat(index.runningAt(MONDAY, LocalTime.parse("10:30"))).containsExactly(1L, 2L);
+        assertThat(index.runningAt(MONDAY, LocalTime.parse("11:45"))).containsExactly(1L, 3L);
+        assertThat(index.runningAt(MONDAY, LocalTime.parse("12:00"))).containsExactly(3L);
+        assertThat(index.runningAt(MONDAY, LocalTime.parse("07:59"))).isEmpty();
+        assertThat(index.runningAt(TUESDAY, LocalTime.parse("09:00"))).isEmpty();
+
+        // A shorter slot replacing the longest one still leaves earlier long lessons visible
+        index.reserve(slot(1, 10, 100, MONDAY, "09:00", "09:30", null));
+        assertThat(index.runningAt(MONDAY, LocalTime.parse("11:45"))).containsExactly(3L);
+        assertThat(index.runningAt(SUNDAY, LocalTime.parse("11:59"))).containsExactly(4L);
+    }
+
+    private static Slot slot(long id, long groupId, long teacherId, DayOfWeek day, String start, String end,
+                             String room) {
+        return new Slot(id, groupId, teacherId, day, LocalTime.parse(start), LocalTime.parse(end), room);
+    }
+
+    private static void begin() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        try {
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // Runs the work in a transaction on another thread; returns its exception after rolling back, or null
+    private static RuntimeException inOtherTransaction(Runnable work) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> {
+                begin();
+                try {
+                    work.run();
+                } catch (RuntimeException e) {
+                    complete(STATUS_ROLLED_BACK);
+                    return e;
+                }
+                complete(STATUS_COMMITTED);
+                return (RuntimeException) null;
+            }).get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import com.ogabek.CreativeLearningCenter.dto.response.StudentResponse;
+import com.ogabek.CreativeLearningCenter.entity.*;
+import com.ogabek.CreativeLearningCenter.mapper.PaymentStatusProvider;
+import com.ogabek.CreativeLearningCenter.repository.*;
+import com.ogabek.CreativeLearningCenter.service.StudentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The roster is read with a fixed set of queries; fixtures are committed first so the service runs in its own
+// persistence context and lazy loads would show up as extra statements
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class GroupRosterStatementCountTest {
+
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private StudentGroupRepository studentGroupRepository;
+    @Autowired
+    private PaymentRepository paymentRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void rosterStatementCountDoesNotDependOnGroupSize() {
+        Long smallGroupId = createGroupWithStudents("Roster small", 2);
+        Long largeGroupId = createGroupWithStudents("Roster large", 50);
+
+        statistics.clear();
+        List<StudentResponse> small = studentService.getByGroupId(smallGroupId, null, null);
+        long smallStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<StudentResponse> large = studentService.getByGroupId(largeGroupId, null, null);
+        long largeStatements = statistics.getPrepareStatementCount();
+
+        assertThat(small).hasSize(2);
+        assertThat(large).hasSize(50);
+        assertThat(large).allSatisfy(student -> {
+            assertThat(student.getActiveGroupsCount()).isEqualTo(2);
+            assertThat(student.getTotalPaid()).isEqualByComparingTo("100.00");
+        });
+        assertThat(largeStatements).isPositive().isEqualTo(smallStatements);
+    }
+
+    // Every student is also enrolled in a second group and has paid for the current month
+    private Long createGroupWithStudents(String name, int size) {
+        return transactionTemplate.execute(status -> {
+            Teacher teacher = teacherRepository.save(Teacher.builder()
+                    .fullName(name + " teacher")
+                    .phoneNumber("+998900000000")
+                    .build());
+            Group group = groupRepository.save(Group.builder()
+                    .name(name)
+                    .teacher(teacher)
+                    .monthlyFee(new BigDecimal("100.00"))
+                    .build());
+            Group otherGroup = groupRepository.save(Group.builder()
+                    .name(name + " (other)")
+                    .teacher(teacher)
+                    .monthlyFee(new BigDecimal("80.00"))
+                    .build());
+
+            String month = PaymentStatusProvider.monthKey(null, null);
+            List<StudentGroup> enrollments = new ArrayList<>();
+            List<Payment> payments = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                Student student = studentRepository.save(Student.builder()
+                        .fullName(name + " student " + i)
+                        .parentName("Parent " + i)
+                        .parentPhoneNumber("+998901111111")
+                        .build());
+                enrollments.add(StudentGroup.builder().student(student).group(group).build());
+                enrollments.add(StudentGroup.builder().student(student).group(otherGroup).build());
+                payments.add(Payment.builder()
+                        .student(student)
+                        .group(group)
+                        .amount(new BigDecimal("100.00"))
+                        .paidForMonth(month)
+                        .build());
+            }
+            studentGroupRepository.saveAll(enrollments);
+            paymentRepository.saveAll(payments);
+            return group.getId();
+        });
+    }
+}
@@ -0,0 +1,156 @@
+package com.ogabek.CreativeLearningCenter.service.impl;
+
+import com.ogabek.CreativeLearningCenter.entity.*;
+import com.ogabek.CreativeLearningCenter.repository.*;
+import com.ogabek.CreativeLearningCenter.service.AttendanceService;
+import com.ogabek.CreativeLearningCenter.service.InquiryService;
+import com.ogabek.CreativeLearningCenter.service.PaymentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Payment, attendance and inquiry lists are read as DTO projections: one statement however many rows.
+// Fixtures are committed before and deleted after each test, so the shared context keeps its own data
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ListProjectionStatementCountTest {
+
+    private static final int ROWS = 30;
+    private static final LocalDate LESSON_DATE = LocalDate.of(2031, 5, 12);
+
+    @Autowired
+    private PaymentService paymentService;
+    @Autowired
+    private AttendanceService attendanceService;
+    @Autowired
+    private InquiryService inquiryService;
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private PaymentRepository paymentRepository;
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    @Autowired
+    private InquiryRepository inquiryRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int paymentsBefore;
+    private int inquiriesBefore;
+    private Teacher teacher;
+    private Group group;
+    private final List<Student> students = new ArrayList<>();
+    private final List<Payment> payments = new ArrayList<>();
+    private final List<Attendance> attendances = new ArrayList<>();
+    private final List<Inquiry> inquiries = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        paymentsBefore = paymentService.getAll().size();
+        inquiriesBefore = inquiryService.getAll().size();
+        createRows();
+    }
+
+    @AfterEach
+    void deleteRows() {
+        transactionTemplate.executeWithoutResult(status -> {
+            attendanceRepository.deleteAllInBatch(attendances);
+            paymentRepository.deleteAllInBatch(payments);
+            inquiryRepository.deleteAllInBatch(inquiries);
+            studentRepository.deleteAllInBatch(students);
+            groupRepository.deleteAllInBatch(List.of(group));
+            teacherRepository.deleteAllInBatch(List.of(teacher));
+        });
+    }
+
+    @Test
+    void paymentsAreListedWithOneStatement() {
+        statistics.clear();
+        int size = paymentService.getAll().size();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(size).isEqualTo(paymentsBefore + ROWS);
+    }
+
+    @Test
+    void attendanceOfAMonthIsListedWithOneStatement() {
+        statistics.clear();
+        int size = attendanceService.getByMonth(LESSON_DATE.getYear(), LESSON_DATE.getMonthValue()).size();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(size).isEqualTo(ROWS);
+    }
+
+    @Test
+    void inquiriesAreListedWithOneStatement() {
+        statistics.clear();
+        int size = inquiryService.getAll().size();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(size).isEqualTo(inquiriesBefore + ROWS);
+    }
+
+    // Committed, so the services read through their own persistence context
+    private void createRows() {
+        transactionTemplate.executeWithoutResult(status -> {
+            teacher = teacherRepository.save(Teacher.builder()
+                    .fullName("Projection teacher")
+                    .phoneNumber("+998900000000")
+                    .build());
+            group = groupRepository.save(Group.builder()
+                    .name("Projection group")
+                    .teacher(teacher)
+                    .monthlyFee(new BigDecimal("100.00"))
+                    .build());
+
+            for (int i = 0; i < ROWS; i++) {
+                Student student = studentRepository.save(Student.builder()
+                        .fullName("Projection student " + i)
+                        .parentName("Parent " + i)
+                        .parentPhoneNumber("+998901111111")
+                        .build());
+                students.add(student);
+                payments.add(Payment.builder()
+                        .student(student)
+                        .group(group)
+                        .amount(new BigDecimal("100.00"))
+                        .paidForMonth("2031-05")
+                        .build());
+                attendances.add(Attendance.builder()
+                        .date(LESSON_DATE)
+                        .student(student)
+                        .group(group)
+                        .status(i % 3 == 0 ? AttendanceStatus.ABSENT : AttendanceStatus.PRESENT)
+                        .build());
+                inquiries.add(Inquiry.builder()
+                        .fullName("Projection inquiry " + i)
+                        .parentName("Parent " + i)
+                        .parentPhoneNumber("+998902222222")
+                        .build());
+            }
+            paymentRepository.saveAll(payments);
+            attendanceRepository.saveAll(attendances);
+            inquiryRepository.saveAll(inquiries);
+        });
+    }
+}